@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Bandwidth and latency of a large booking listing: HTTP/1.1 vs h2c, identity vs gzip.
+#
+#   BASE_URL=http://localhost:8080 TOKEN=<JWT> HOTEL_ID=<hotel> SEED=true scripts/bench-listing.sh
+#
+# SEED=true first imports ROWS bookings into the hotel (the token needs the staff or reception
+# role; use a hotel without rooms so any room number is accepted). Each variant is fetched RUNS
+# times after one warm-up request; the median time and the downloaded size are printed.
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+HOTEL_ID=${HOTEL_ID:?HOTEL_ID is required}
+TOKEN=${TOKEN:?TOKEN is required}
+ROWS=${ROWS:-10000}
+RUNS=${RUNS:-20}
+SEED=${SEED:-false}
+
+LISTING="$BASE_URL/api/hotels/$HOTEL_ID/bookings"
+
+if [ "$SEED" = "true" ]; then
+    # 500 rooms, back-to-back two-night stays starting tomorrow, so no row conflicts
+    file=$(mktemp)
+    for ((i = 0; i < ROWS; i++)); do
+        room=$((i % 500 + 100))
+        offset=$((i / 500 * 2 + 1))
+        in=$(date -u -d "+$offset days" +%F)
+        out=$(date -u -d "+$((offset + 2)) days" +%F)
+        printf '{"guestName":"Bench Guest %d","guestEmail":"bench%d@example.com","roomNumber":"%d","checkInDate":"%s","checkOutDate":"%s"}\n' \
+            "$i" "$i" "$room" "$in" "$out"
+    done > "$file"
+    curl -sS -o /dev/null -w 'seeded %{http_code} in %{time_total}s\n' \
+        -H "Authorization: Bearer $TOKEN" -H 'Content-Type: application/x-ndjson' \
+        --data-binary "@$file" "$LISTING/import?format=ndjson"
+    rm -f "$file"
+fi
+
+# variant: label, curl protocol flag, Accept-Encoding
+measure() {
+    local label=$1 protocol=$2 encoding=$3
+    curl -sS -o /dev/null "$protocol" -H "Accept-Encoding: $encoding" \
+        -H "Authorization: Bearer $TOKEN" "$LISTING" # warm-up
+
+    local times=() size=0 version=
+    for ((run = 0; run < RUNS; run++)); do
+        read -r version size time < <(curl -sS -o /dev/null "$protocol" -H "Accept-Encoding: $encoding" \
+            -H "Authorization: Bearer $TOKEN" -w '%{http_version} %{size_download} %{time_total}\n' "$LISTING")
+        times+=("$time")
+    done
+
+    local median
+    median=$(printf '%s\n' "${times[@]}" | sort -n | awk '{ t[NR] = $1 } END { print t[int((NR + 1) / 2)] }')
+    printf '%-18s HTTP/%-3s %12s bytes  median %ss\n' "$label" "$version" "$size" "$median"
+}
+
+measure "http1.1 identity" --http1.1 identity
+measure "http1.1 gzip" --http1.1 gzip
+measure "h2c identity" --http2-prior-knowledge identity
+measure "h2c gzip" --http2-prior-knowledge gzip
@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Startup time and resident memory: JRE image (Dockerfile) against the native image (Dockerfile.native).
+#
+#   ENV_FILE=.env RUNS=5 BUILD=true scripts/bench-startup.sh
+#
+# Each image is started RUNS times against the Mongo in ENV_FILE (use a host reachable from the
+# containers). Time-to-ready is measured from `docker run` to the first 200 from /health, which
+# stays 503 until warm-up finishes. Spring's own "Started ... in" time and the process RSS
+# (VmRSS of PID 1) right after ready and after LOAD_REQUESTS health requests are printed per run.
+set -euo pipefail
+
+ENV_FILE=${ENV_FILE:-.env}
+RUNS=${RUNS:-5}
+BUILD=${BUILD:-false}
+PORT=${PORT:-18080}
+LOAD_REQUESTS=${LOAD_REQUESTS:-200}
+
+if [ "$BUILD" = "true" ]; then
+    docker build -t otelier:jvm -f Dockerfile .
+    docker build -t otelier:native -f Dockerfile.native .
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+rss_kb() {
+    docker exec "$1" sh -c "grep VmRSS /proc/1/status" | awk '{ print $2 }'
+}
+
+bench() {
+    local image=$1
+    for ((run = 1; run <= RUNS; run++)); do
+        local name="otelier-bench-$$"
+        local start
+        start=$(now_ms)
+        docker run -d --rm --name "$name" --env-file "$ENV_FILE" -p "$PORT:8080" "$image" > /dev/null
+
+        until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/health")" = "200" ]; do
+            if ! docker inspect "$name" > /dev/null 2>&1; then
+                echo "$image exited before becoming ready" >&2
+                return 1
+            fi
+            sleep 0.05
+        done
+        local ready=$(( $(now_ms) - start ))
+
+        local started
+        started=$(docker logs "$name" 2>&1 | grep -o 'Started OtelierApplication in [0-9.]* seconds' | grep -o '[0-9.]*' || echo '?')
+        local idle
+        idle=$(rss_kb "$name")
+        for ((i = 0; i < LOAD_REQUESTS; i++)); do
+            curl -s -o /dev/null "http://localhost:$PORT/health"
+        done
+        local loaded
+        loaded=$(rss_kb "$name")
+
+        printf '%-16s run %d  ready %6d ms  spring %6ss  rss %6d MB  rss after %d requests %6d MB\n' \
+            "$image" "$run" "$ready" "$started" $((idle / 1024)) "$LOAD_REQUESTS" $((loaded / 1024))
+        docker stop "$name" > /dev/null
+    done
+}
+
+bench otelier:jvm
+bench otelier:native
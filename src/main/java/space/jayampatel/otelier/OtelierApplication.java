@@ -2,6 +2,7 @@ package space.jayampatel.otelier;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
@@ -14,6 +15,7 @@ import io.swagger.v3.oas.annotations.info.Info;
 		)
 )
 @SpringBootApplication
+@EnableScheduling
 public class OtelierApplication {
 
 	public static void main(String[] args) {
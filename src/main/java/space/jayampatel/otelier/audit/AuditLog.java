@@ -0,0 +1,241 @@
+package space.jayampatel.otelier.audit;
+
+import space.jayampatel.otelier.model.AuditEvent;
+
+import com.mongodb.bulk.BulkWriteError;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only audit trail of booking and assignment changes.
+ *
+ * {@link #record} only offers the event to an in-memory ring, so writers never wait
+ * on Mongo. A scheduled flush drains the ring and inserts the events in batches into
+ * the audit_events time-series collection. If the ring fills (Mongo down for long),
+ * new events are dropped and counted in audit.events.dropped.
+ *
+ * Time-series collections don't enforce a unique _id, so a retried insert would store
+ * an event twice. Batches are written unordered and only the events Mongo rejected with
+ * a transient error (failover, timeout) are kept for the next flush, topped up with new
+ * events from the ring. If Mongo can't be reached the whole batch is retried until it
+ * can; after any other failure with an unknown outcome it is retried too, and IDs are
+ * assigned on record, so any copies share one. Events rejected for good, or still
+ * failing after audit.max-attempts writes, are logged and counted in audit.events.rejected.
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    // Server error codes worth retrying: elections, shutdown, network and time limits
+    private static final Set<Integer> TRANSIENT_CODES = Set.of(
+            6, 7, 50, 89, 91, 112, 189, 262, 9001, 10107, 11600, 11602, 13435, 13436);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${audit.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${audit.batch-size:1000}")
+    private int batchSize;
+
+    // Writes per event before it is given up on
+    @Value("${audit.max-attempts:10}")
+    private int maxAttempts;
+
+    private AuditRing<AuditEvent> ring;
+    private Counter dropped;
+    private Counter rejected;
+
+    // Only touched by the flushing thread: events to retry first, and their failed writes so far
+    private final List<AuditEvent> batch = new ArrayList<>();
+    private final Map<AuditEvent, Integer> attempts = new IdentityHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        ring = new AuditRing<>(bufferSize);
+        dropped = meterRegistry.counter("audit.events.dropped");
+        rejected = meterRegistry.counter("audit.events.rejected");
+        Gauge.builder("audit.events.pending", ring, AuditRing::size).register(meterRegistry);
+
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            // Created from the @TimeSeries mapping; insert alone would make a plain collection
+            if (!mongoTemplate.collectionExists(AuditEvent.class)) {
+                mongoTemplate.createCollection(AuditEvent.class);
+            }
+            mongoTemplate.indexOps(AuditEvent.class).ensureIndex(new Index()
+                    .on("hotelId", Sort.Direction.ASC)
+                    .on("at", Sort.Direction.DESC)
+                    .named("hotel_at_idx"));
+        } catch (Exception e) {
+            // Flushes retry; don't fail startup over the audit collection
+            logger.error("Failed to prepare audit collection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Queue an event for the next flush. Never blocks.
+     */
+    public void record(String action, String hotelId, String entityId, String actorId, String detail) {
+        if (!enabled) {
+            return;
+        }
+
+        AuditEvent event = new AuditEvent(action, hotelId, entityId, actorId, detail);
+        event.setId(ObjectId.get().toHexString());
+        if (!ring.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * A hotel's events in [from, to), newest first
+     */
+    public List<AuditEvent> find(String hotelId, Instant from, Instant to, int limit) {
+        Query query = new Query(Criteria.where("hotelId").is(hotelId).and("at").gte(from).lt(to))
+                .with(Sort.by(Sort.Direction.DESC, "at"))
+                .limit(limit);
+        return mongoTemplate.find(query, AuditEvent.class);
+    }
+
+    @Scheduled(fixedDelayString = "${audit.flush-ms:200}")
+    public synchronized void flush() {
+        while (true) {
+            // Retries go first, topped up with new events so the ring keeps draining
+            ring.drainTo(batch, batchSize - batch.size());
+            if (batch.isEmpty()) {
+                return;
+            }
+
+            int size = batch.size();
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, AuditEvent.class)
+                        .insert(batch)
+                        .execute();
+            } catch (BulkOperationException e) {
+                // The rest of the batch was written; keep only events rejected for a transient reason
+                List<AuditEvent> failed = new ArrayList<>(e.getErrors().size());
+                BulkWriteError permanent = null;
+                int permanentCount = 0;
+                for (BulkWriteError error : e.getErrors()) {
+                    if (isTransient(error.getCode())) {
+                        failed.add(batch.get(error.getIndex()));
+                    } else {
+                        permanent = permanent == null ? error : permanent;
+                        permanentCount++;
+                    }
+                }
+                int exhausted = keepForRetry(failed);
+
+                if (!batch.isEmpty()) {
+                    logger.warn("Failed to write {} of {} audit events, will retry: {}",
+                            batch.size(), size, e.getMessage());
+                }
+                if (permanent != null) {
+                    logger.error("Audit events rejected: {} of {}, first with code {}: {}",
+                            permanentCount, size, permanent.getCode(), permanent.getMessage());
+                }
+                reject(permanentCount + exhausted);
+                return;
+            } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+                // Mongo unreachable or failing over, not the events' fault: retry the whole batch
+                // for as long as it takes; the ring drops new events if the outage outlasts it
+                logger.error("Failed to write {} audit events, will retry: {}", size, e.getMessage());
+                return;
+            } catch (Exception e) {
+                // Outcome unknown: retry the whole batch, up to the attempt limit
+                logger.error("Failed to write {} audit events, will retry: {}", size, e.getMessage());
+                reject(keepForRetry(new ArrayList<>(batch)));
+                return;
+            }
+
+            batch.clear();
+            attempts.clear();
+            if (size < batchSize) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Make the failed events the next batch, counting this write against each one.
+     * Returns how many had used up audit.max-attempts and were left out.
+     */
+    private int keepForRetry(List<AuditEvent> failed) {
+        Map<AuditEvent, Integer> retries = new IdentityHashMap<>(failed.size());
+        batch.clear();
+        for (AuditEvent event : failed) {
+            int count = attempts.getOrDefault(event, 0) + 1;
+            if (count < maxAttempts) {
+                retries.put(event, count);
+                batch.add(event);
+            }
+        }
+        attempts.clear();
+        attempts.putAll(retries);
+
+        int exhausted = failed.size() - batch.size();
+        if (exhausted > 0) {
+            logger.error("Gave up on {} audit events after {} attempts", exhausted, maxAttempts);
+        }
+        return exhausted;
+    }
+
+    private void reject(int count) {
+        if (count > 0) {
+            rejected.increment(count);
+        }
+    }
+
+    static boolean isTransient(int code) {
+        return TRANSIENT_CODES.contains(code);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        if (!batch.isEmpty() || ring.size() > 0) {
+            logger.warn("Shutting down with {} unwritten audit events", batch.size() + ring.size());
+        }
+    }
+}
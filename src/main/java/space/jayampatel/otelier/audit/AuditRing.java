@@ -0,0 +1,72 @@
+package space.jayampatel.otelier.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer / single-consumer ring.
+ *
+ * A producer claims a sequence with one CAS on the tail and publishes into that slot;
+ * the single consumer takes published slots in order and advances the head. When the
+ * ring is full, offer fails at once instead of blocking the caller.
+ */
+public final class AuditRing<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // next sequence to claim
+    private final AtomicLong head = new AtomicLong(); // next sequence to take
+
+    public AuditRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Add an element; false when the ring is full
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head.get() > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                slots.set((int) sequence & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Move up to max published elements into the batch, in order. Single consumer only.
+     * Stops early at a slot that is claimed but not yet published.
+     */
+    public int drainTo(List<E> batch, int max) {
+        long sequence = head.get();
+        int count = 0;
+
+        while (count < max) {
+            int index = (int) sequence & mask;
+            E element = slots.get(index);
+            if (element == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            batch.add(element);
+            sequence++;
+            count++;
+        }
+
+        head.lazySet(sequence);
+        return count;
+    }
+
+    public int size() {
+        return (int) Math.max(tail.get() - head.get(), 0);
+    }
+}
@@ -0,0 +1,162 @@
+package space.jayampatel.otelier.cache;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Cross-node cache invalidation driven by Mongo change streams.
+ *
+ * Each watched collection gets one change stream on a virtual thread, and every
+ * change is handed to that collection's listeners, so all nodes drop stale L1
+ * entries shortly after a write commits, with no separate cache server. After an
+ * error the stream resumes from the last token. If it has to start over, listeners
+ * are reset, because changes may have been missed. Change streams need a replica
+ * set; against a standalone server the bus logs once and caches rely on their TTL.
+ */
+@Component
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    // "The $changeStream stage is only supported on replica sets"
+    private static final int NOT_A_REPLICA_SET = 40573;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${cache.invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.invalidation.retry-ms:1000}")
+    private long retryMs;
+
+    private final Map<String, List<InvalidationListener>> listeners = new ConcurrentHashMap<>();
+    private final Map<String, MongoChangeStreamCursor<ChangeStreamDocument<Document>>> cursors =
+            new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    /**
+     * Register a listener for changes to a collection (before the context starts)
+     */
+    public void subscribe(String collection, InvalidationListener listener) {
+        listeners.computeIfAbsent(collection, name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled) {
+            logger.info("Cache invalidation bus disabled; caches rely on TTL only");
+            return;
+        }
+
+        for (String collection : listeners.keySet()) {
+            Thread.ofVirtual().name("cache-bus-" + collection).start(() -> watch(collection));
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        cursors.values().forEach(cursor -> {
+            try {
+                cursor.close();
+            } catch (Exception e) {
+                // Already closed
+            }
+        });
+        cursors.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void watch(String collection) {
+        BsonDocument resumeToken = null;
+
+        while (running) {
+            ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(collection).watch();
+            boolean resuming = resumeToken != null;
+            if (resuming) {
+                stream = stream.resumeAfter(resumeToken);
+            }
+
+            boolean progressed = false;
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+                cursors.put(collection, cursor);
+                logger.info("Watching {} for cache invalidation", collection);
+
+                while (running) {
+                    ChangeStreamDocument<Document> change = cursor.next();
+                    resumeToken = change.getResumeToken();
+                    progressed = true;
+                    dispatch(collection, change);
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                if (e instanceof MongoCommandException command && command.getErrorCode() == NOT_A_REPLICA_SET) {
+                    logger.warn("Change streams unavailable (not a replica set); {} caches rely on TTL only",
+                            collection);
+                    return;
+                }
+
+                logger.warn("Change stream on {} failed: {}", collection, e.getMessage());
+
+                // A resume that fails straight away means the token is no longer usable
+                if (resuming && !progressed) {
+                    resumeToken = null;
+                }
+                // Starting over: whatever changed in between was missed
+                if (resumeToken == null) {
+                    listeners.getOrDefault(collection, List.of()).forEach(InvalidationListener::onReset);
+                }
+
+                pause();
+            } finally {
+                cursors.remove(collection);
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(retryMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void dispatch(String collection, ChangeStreamDocument<Document> change) {
+        for (InvalidationListener listener : listeners.getOrDefault(collection, List.of())) {
+            try {
+                listener.onChange(change);
+            } catch (Exception e) {
+                logger.error("Cache invalidation listener failed on {}: {}", collection, e.getMessage());
+                listener.onReset();
+            }
+        }
+    }
+}
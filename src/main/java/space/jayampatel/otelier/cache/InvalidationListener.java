@@ -0,0 +1,18 @@
+package space.jayampatel.otelier.cache;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import org.bson.Document;
+
+/**
+ * Receives changes to one collection from the {@link CacheInvalidationBus}
+ */
+public interface InvalidationListener {
+
+    void onChange(ChangeStreamDocument<Document> change);
+
+    /**
+     * Changes may have been missed (stream restarted without a resume point); drop everything
+     */
+    void onReset();
+}
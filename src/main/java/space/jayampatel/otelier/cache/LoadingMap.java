@@ -0,0 +1,98 @@
+package space.jayampatel.otelier.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Unbounded in-memory map of loaded state, for per-hotel structures that are kept
+ * current in place rather than evicted.
+ *
+ * Loads run on the calling thread outside any map lock, so a slow Mongo load never
+ * blocks other keys. Concurrent misses for a key share one load, and a failed load
+ * is not kept.
+ */
+public class LoadingMap<K, V> {
+
+    private final Map<K, CompletableFuture<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Loaded value, loading it on a miss
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        while (true) {
+            CompletableFuture<V> entry = entries.get(key);
+
+            if (entry == null) {
+                CompletableFuture<V> loading = new CompletableFuture<>();
+                if (entries.putIfAbsent(key, loading) != null) {
+                    continue;
+                }
+                try {
+                    V value = loader.apply(key);
+                    loading.complete(value);
+                    return value;
+                } catch (RuntimeException e) {
+                    entries.remove(key, loading);
+                    loading.completeExceptionally(e);
+                    throw e;
+                }
+            }
+
+            try {
+                return entry.join();
+            } catch (CompletionException e) {
+                entries.remove(key, entry);
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Value if it is loaded, without waiting for a load in progress
+     */
+    public V getIfLoaded(K key) {
+        CompletableFuture<V> entry = entries.get(key);
+        return entry == null || entry.isCompletedExceptionally() ? null : entry.getNow(null);
+    }
+
+    /**
+     * Apply a change to a loaded value, or to a value still loading once it arrives.
+     * Keys that are not present are left alone. The change must not block.
+     */
+    public void update(K key, UnaryOperator<V> change) {
+        entries.computeIfPresent(key, (k, entry) -> entry.thenApply(change));
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, CompletableFuture.completedFuture(value));
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void removeIf(Predicate<? super K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public void forEachKey(Consumer<? super K> action) {
+        entries.keySet().forEach(action);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+}
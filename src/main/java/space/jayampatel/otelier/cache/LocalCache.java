@@ -0,0 +1,66 @@
+package space.jayampatel.otelier.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * In-process (L1) cache with size and time eviction.
+ *
+ * Entries are dropped by the {@link CacheInvalidationBus} when the backing collection
+ * changes on any node; the TTL bounds staleness if the bus is down. Hit and miss
+ * counts are published as cache.* metrics under the cache name.
+ */
+public class LocalCache<K, V> {
+
+    private final Cache<K, V> cache;
+
+    public LocalCache(String name, long maxSize, Duration ttl, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    /**
+     * Cached value, loading it on a miss. Concurrent misses for a key share one load.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return cache.get(key, loader);
+    }
+
+    public V getIfPresent(K key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(K key, V value) {
+        cache.put(key, value);
+    }
+
+    /**
+     * Store the value unless the key is present; true if it was stored
+     */
+    public boolean putIfAbsent(K key, V value) {
+        return cache.asMap().putIfAbsent(key, value) == null;
+    }
+
+    public void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    public void invalidateIf(Predicate<? super K> predicate) {
+        cache.asMap().keySet().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,132 @@
+package space.jayampatel.otelier.cluster;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring assigning hotels to application nodes.
+ *
+ * Every node is placed on the ring at several virtual points so hotels spread evenly,
+ * and adding or removing a node only moves the hotels adjacent to its points.
+ * The ring is built once from configuration; lookups are a binary search over
+ * primitive arrays.
+ */
+@Component
+public class HotelRing {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotelRing.class);
+
+    @Value("${cluster.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cluster.self:}")
+    private String self;
+
+    @Value("${cluster.nodes:}")
+    private List<String> nodes;
+
+    @Value("${cluster.virtual-nodes:128}")
+    private int virtualNodes;
+
+    private long[] points = new long[0];
+    private String[] owners = new String[0];
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        List<String> members = new ArrayList<>();
+        for (String node : nodes) {
+            if (!node.isBlank()) {
+                members.add(stripTrailingSlash(node.trim()));
+            }
+        }
+        self = stripTrailingSlash(self.trim());
+
+        if (members.isEmpty() || !members.contains(self)) {
+            throw new IllegalStateException("cluster.self must be one of cluster.nodes");
+        }
+
+        TreeMap<Long, String> ring = new TreeMap<>();
+        for (String node : members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(node + "#" + i), node);
+            }
+        }
+
+        points = new long[ring.size()];
+        owners = new String[ring.size()];
+        int index = 0;
+        for (Map.Entry<Long, String> entry : ring.entrySet()) {
+            points[index] = entry.getKey();
+            owners[index] = entry.getValue();
+            index++;
+        }
+
+        logger.info("Hotel ring built with {} nodes ({} points), self: {}", members.size(), points.length, self);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    /**
+     * Base URL of the node that owns a hotel
+     */
+    public String ownerOf(String hotelId) {
+        if (!enabled) {
+            return self;
+        }
+
+        int index = Arrays.binarySearch(points, hash(hotelId));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index == points.length) {
+            index = 0; // wrap around the ring
+        }
+        return owners[index];
+    }
+
+    /**
+     * Whether this node owns a hotel (always true when partitioning is off)
+     */
+    public boolean isLocal(String hotelId) {
+        return !enabled || self.equals(ownerOf(hotelId));
+    }
+
+    // 64-bit FNV-1a over UTF-8 bytes, finished with the MurmurHash3 mixer for better spread
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,188 @@
+package space.jayampatel.otelier.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sends /api/hotels/{hotelId}/... requests to the node that owns the hotel.
+ *
+ * Runs ahead of the security chain so a non-owner node does no auth or Mongo work.
+ * In "redirect" mode the client gets a 307 to the owner; in "forward" mode this node
+ * proxies the request. Forwarded requests are marked and always served locally,
+ * so a ring mismatch between nodes can't cause a loop. The mark is only trusted with
+ * the shared cluster.secret, so an external client can't use it to skip routing.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class HotelRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotelRoutingFilter.class);
+
+    private static final String HOTEL_PATH_PREFIX = "/api/hotels/";
+    private static final String FORWARDED_HEADER = "X-Otelier-Forwarded-By";
+    private static final String CLUSTER_TOKEN_HEADER = "X-Otelier-Cluster-Token";
+
+    // Hop-by-hop and client-managed headers that must not be copied across the proxy
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "host", "connection", "content-length", "transfer-encoding", "upgrade",
+            "keep-alive", "te", "trailer", "proxy-connection", "http2-settings", "expect",
+            FORWARDED_HEADER.toLowerCase(), CLUSTER_TOKEN_HEADER.toLowerCase());
+
+    @Autowired
+    private HotelRing hotelRing;
+
+    @Value("${cluster.routing-mode:redirect}")
+    private String routingMode;
+
+    @Value("${cluster.secret:}")
+    private String secret;
+
+    private byte[] secretBytes;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    @PostConstruct
+    public void init() {
+        secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+
+        if (hotelRing.isEnabled() && "forward".equalsIgnoreCase(routingMode) && secret.isBlank()) {
+            // Without a secret, forwarded requests can't be told apart from client ones
+            logger.warn("cluster.routing-mode=forward requires cluster.secret; redirecting instead");
+            routingMode = "redirect";
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !hotelRing.isEnabled()
+                || isForwardedByPeer(request)
+                || !request.getRequestURI().startsWith(HOTEL_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String hotelId = extractHotelId(request.getRequestURI());
+
+        if (hotelId == null || hotelRing.isLocal(hotelId)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String owner = hotelRing.ownerOf(hotelId);
+        String target = owner + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+
+        if ("forward".equalsIgnoreCase(routingMode)) {
+            forward(request, response, target);
+        } else {
+            logger.debug("Redirecting hotel {} request to owner {}", hotelId, owner);
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader("Location", target);
+        }
+    }
+
+    private void forward(HttpServletRequest request, HttpServletResponse response, String target)
+            throws IOException {
+
+        boolean hasBody = request.getContentLengthLong() > 0 || request.getHeader("Transfer-Encoding") != null;
+
+        HttpRequest.BodyPublisher body = hasBody
+                ? HttpRequest.BodyPublishers.ofInputStream(() -> {
+                    try {
+                        return request.getInputStream();
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                : HttpRequest.BodyPublishers.noBody();
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target))
+                .method(request.getMethod(), body)
+                .header(FORWARDED_HEADER, hotelRing.getSelf())
+                .header(CLUSTER_TOKEN_HEADER, secret);
+
+        for (String name : Collections.list(request.getHeaderNames())) {
+            if (SKIPPED_HEADERS.contains(name.toLowerCase())) {
+                continue;
+            }
+            for (String value : Collections.list(request.getHeaders(name))) {
+                builder.header(name, value);
+            }
+        }
+
+        try {
+            HttpResponse<InputStream> upstream = httpClient.send(builder.build(),
+                    HttpResponse.BodyHandlers.ofInputStream());
+
+            response.setStatus(upstream.statusCode());
+            for (Map.Entry<String, List<String>> header : upstream.headers().map().entrySet()) {
+                if (SKIPPED_HEADERS.contains(header.getKey().toLowerCase())
+                        || header.getKey().startsWith(":")) {
+                    continue;
+                }
+                for (String value : header.getValue()) {
+                    response.addHeader(header.getKey(), value);
+                }
+            }
+
+            try (InputStream upstreamBody = upstream.body()) {
+                upstreamBody.transferTo(response.getOutputStream());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.BAD_GATEWAY.value(), "Forwarding interrupted");
+        } catch (IOException e) {
+            logger.error("Failed to forward request to {}: {}", target, e.getMessage());
+            if (!response.isCommitted()) {
+                response.sendError(HttpStatus.BAD_GATEWAY.value(), "Owner node unavailable");
+            }
+        }
+    }
+
+    private boolean isForwardedByPeer(HttpServletRequest request) {
+        String token = request.getHeader(CLUSTER_TOKEN_HEADER);
+        return request.getHeader(FORWARDED_HEADER) != null
+                && token != null
+                && !secret.isBlank()
+                && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), secretBytes);
+    }
+
+    // "/api/hotels/{hotelId}" or "/api/hotels/{hotelId}/..." -> hotelId
+    private static String extractHotelId(String uri) {
+        int start = HOTEL_PATH_PREFIX.length();
+        int end = uri.indexOf('/', start);
+        String hotelId = end < 0 ? uri.substring(start) : uri.substring(start, end);
+        return hotelId.isEmpty() ? null : hotelId;
+    }
+}
@@ -0,0 +1,73 @@
+package space.jayampatel.otelier.config;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+
+import io.micrometer.observation.ObservationRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection pool, timeout and read preference settings for the Mongo client.
+ * Applied after the connection string, so these properties win over URI options.
+ * Every command is also observed, so Mongo calls show up as spans in request traces.
+ */
+@Configuration
+public class MongoConfig {
+
+    @Value("${mongo.pool.min-size:0}")
+    private int minPoolSize;
+
+    @Value("${mongo.pool.max-size:100}")
+    private int maxPoolSize;
+
+    @Value("${mongo.pool.max-wait-ms:2000}")
+    private long maxWaitMs;
+
+    @Value("${mongo.pool.max-idle-time-ms:0}")
+    private long maxIdleTimeMs;
+
+    @Value("${mongo.socket.connect-timeout-ms:10000}")
+    private int connectTimeoutMs;
+
+    @Value("${mongo.socket.read-timeout-ms:0}")
+    private int readTimeoutMs;
+
+    @Value("${mongo.server-selection-timeout-ms:30000}")
+    private long serverSelectionTimeoutMs;
+
+    @Value("${mongo.read-preference:primary}")
+    private String readPreference;
+
+    @Value("${mongo.write-concern:majority}")
+    private String writeConcern;
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientSettingsCustomizer(
+            MongoPoolCheckoutListener checkoutListener,
+            ObservationRegistry observationRegistry) {
+        return builder -> builder
+                .contextProvider(ContextProviderFactory.create(observationRegistry))
+                .addCommandListener(new MongoObservationCommandListener(observationRegistry))
+                .applyToConnectionPoolSettings(pool -> pool
+                        .minSize(minPoolSize)
+                        .maxSize(maxPoolSize)
+                        .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(maxIdleTimeMs, TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(checkoutListener))
+                .applyToSocketSettings(socket -> socket
+                        .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+                        .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(cluster -> cluster
+                        .serverSelectionTimeout(serverSelectionTimeoutMs, TimeUnit.MILLISECONDS))
+                .readPreference(ReadPreference.valueOf(readPreference))
+                .writeConcern(WriteConcern.valueOf(writeConcern));
+    }
+}
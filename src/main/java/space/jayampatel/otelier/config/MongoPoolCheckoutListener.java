@@ -0,0 +1,105 @@
+package space.jayampatel.otelier.config;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records how long requests wait to check a connection out of the Mongo pool.
+ * Pool size, checked-out and wait-queue gauges plus per-command timings come from
+ * the listeners Spring Boot registers with Actuator (mongodb.driver.pool.*, mongodb.driver.commands).
+ * Live checked-out counts are also kept here, per server pool (the driver keeps one pool
+ * per replica set member), and the busiest pool's share in use is published as
+ * mongodb.driver.pool.saturation. Alert on that gauge; it is deliberately not a health
+ * check, since taking saturated nodes out of rotation only moves their load onto the rest.
+ */
+@Component
+public class MongoPoolCheckoutListener implements ConnectionPoolListener {
+
+    private final Timer checkoutTimer;
+    private final Counter checkoutFailures;
+
+    private final Map<ServerId, Pool> pools = new ConcurrentHashMap<>();
+
+    public MongoPoolCheckoutListener(MeterRegistry meterRegistry) {
+        this.checkoutTimer = Timer.builder("mongodb.driver.pool.checkout")
+                .description("Time spent waiting to check a connection out of the pool")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.checkoutFailures = Counter.builder("mongodb.driver.pool.checkout.failures")
+                .description("Connection checkouts that failed, e.g. wait queue timeout")
+                .register(meterRegistry);
+        Gauge.builder("mongodb.driver.pool.saturation", this, MongoPoolCheckoutListener::getMaxSaturation)
+                .description("Share of the busiest server pool's connections in use")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void connectionPoolCreated(ConnectionPoolCreatedEvent event) {
+        pools.put(event.getServerId(), new Pool(event.getSettings().getMaxSize()));
+    }
+
+    @Override
+    public void connectionPoolClosed(ConnectionPoolClosedEvent event) {
+        pools.remove(event.getServerId());
+    }
+
+    @Override
+    public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+        pool(event.getConnectionId().getServerId()).checkedOut.incrementAndGet();
+        checkoutTimer.record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+        checkoutFailures.increment();
+    }
+
+    @Override
+    public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+        pool(event.getConnectionId().getServerId()).checkedOut.decrementAndGet();
+    }
+
+    /**
+     * Highest share of connections in use across server pools, 0 to 1
+     */
+    public double getMaxSaturation() {
+        double max = 0;
+        for (Pool pool : pools.values()) {
+            if (pool.maxSize > 0) {
+                max = Math.max(max, (double) pool.checkedOut.get() / pool.maxSize);
+            }
+        }
+        return max;
+    }
+
+    // Events can race pool creation after a driver reconnect; unknown pools are tracked unbounded
+    private Pool pool(ServerId serverId) {
+        return pools.computeIfAbsent(serverId, id -> new Pool(0));
+    }
+
+    private static final class Pool {
+        private final int maxSize;
+        private final AtomicInteger checkedOut = new AtomicInteger();
+
+        private Pool(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package space.jayampatel.otelier.config;
+
+import space.jayampatel.otelier.dto.BookingEvent;
+import space.jayampatel.otelier.dto.BookingImportReport;
+import space.jayampatel.otelier.dto.BookingResponse;
+import space.jayampatel.otelier.dto.CreateBookingRequest;
+import space.jayampatel.otelier.dto.DailyManifest;
+import space.jayampatel.otelier.dto.NightOccupancy;
+import space.jayampatel.otelier.model.Booking;
+import space.jayampatel.otelier.model.Hotel;
+import space.jayampatel.otelier.model.HotelAssignment;
+import space.jayampatel.otelier.model.Room;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection and resource hints for the GraalVM native image (-Pnative).
+ *
+ * Spring's AOT pass already covers beans, repositories and controller signatures.
+ * This adds what it can't see: DTOs serialized through ObjectMapper directly (SSE
+ * events, import rows, the reports), the JJWT implementation classes that the API
+ * jar loads by name, and the Logback classes referenced from logback-spring.xml.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.Hints.class)
+@RegisterReflectionForBinding({
+        Booking.class, Hotel.class, HotelAssignment.class, Room.class,
+        BookingEvent.class, BookingResponse.class, CreateBookingRequest.class,
+        BookingImportReport.class, BookingImportReport.RowResult.class,
+        DailyManifest.class, NightOccupancy.class
+})
+public class NativeHintsConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        // jjwt-api resolves its implementation reflectively (Classes.newInstance / forName)
+        private static final String[] JJWT_CLASSES = {
+                "io.jsonwebtoken.impl.DefaultJwtBuilder",
+                "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+                "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+                "io.jsonwebtoken.impl.security.StandardKeyOperations",
+                "io.jsonwebtoken.impl.security.KeysBridge",
+                "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+        };
+
+        private static final String[] LOGBACK_CLASSES = {
+                "ch.qos.logback.classic.AsyncAppender",
+                "ch.qos.logback.core.ConsoleAppender",
+                "org.springframework.boot.logging.logback.StructuredLogEncoder"
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (String className : JJWT_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(className),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+
+            for (String className : LOGBACK_CLASSES) {
+                hints.reflection().registerType(TypeReference.of(className),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+
+            // JJWT finds its JSON (de)serializer through ServiceLoader
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+        }
+    }
+}
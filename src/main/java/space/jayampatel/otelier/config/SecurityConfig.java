@@ -1,6 +1,7 @@
 package space.jayampatel.otelier.config;
 
 import space.jayampatel.otelier.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,6 +28,8 @@ public class SecurityConfig {
                                                                                                              // JWT only
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // SSE streams complete on an async dispatch; access was checked on the initial request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/",
                                 "/health",
@@ -34,6 +37,8 @@ public class SecurityConfig {
                                 "/swagger-ui/**",
                                 "/v3/api-docs/**")
                         .permitAll()
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/hotels").hasRole("ADMIN")
                         .requestMatchers("/api/hotel-assignments").hasRole("ADMIN")
                         .requestMatchers("/api/hotels/*/bookings").authenticated()
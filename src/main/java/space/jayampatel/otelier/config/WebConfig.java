@@ -1,5 +1,7 @@
 package space.jayampatel.otelier.config;
 
+import space.jayampatel.otelier.service.BookingReadRouter;
+
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -13,6 +15,6 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("*") // In production, specify exact origins
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
-                .exposedHeaders("Authorization");
+                .exposedHeaders("Authorization", BookingReadRouter.LAST_WRITE_HEADER);
     }
 }
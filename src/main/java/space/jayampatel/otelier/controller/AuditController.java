@@ -0,0 +1,61 @@
+package space.jayampatel.otelier.controller;
+
+import space.jayampatel.otelier.audit.AuditLog;
+import space.jayampatel.otelier.exception.UnauthorizedException;
+import space.jayampatel.otelier.model.AuditEvent;
+import space.jayampatel.otelier.security.AuthenticationContext;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Tag(name = "Audit", description = "Audit trail of booking and assignment changes")
+@RestController
+@RequestMapping("/api/hotels/{hotelId}/audit")
+public class AuditController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private AuthenticationContext authContext;
+
+    /**
+     * ADMIN ONLY
+     * GET /api/hotels/{hotelId}/audit?from=2025-01-01T00:00:00Z&to=2025-01-02T00:00:00Z&limit=100
+     * Events in [from, to), newest first; defaults to the last 24 hours
+     */
+    @Operation(summary = "Get a hotel's audit trail")
+    @GetMapping
+    public ResponseEntity<List<AuditEvent>> getEvents(
+            @PathVariable String hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        if (!authContext.hasRole("admin")) {
+            throw new UnauthorizedException("Admin access required");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
+        }
+
+        return ResponseEntity.ok(auditLog.find(hotelId, start, end, limit));
+    }
+}
@@ -1,17 +1,28 @@
 package space.jayampatel.otelier.controller;
 
+import space.jayampatel.otelier.dto.BookingExportWriter;
+import space.jayampatel.otelier.dto.BookingImportReport;
+import space.jayampatel.otelier.dto.BookingJsonWriter;
 import space.jayampatel.otelier.dto.BookingResponse;
 import space.jayampatel.otelier.dto.CreateBookingRequest;
+import space.jayampatel.otelier.logging.LogSampler;
 import space.jayampatel.otelier.model.Booking;
+import space.jayampatel.otelier.service.BookingEventHub;
+import space.jayampatel.otelier.service.BookingImportService;
+import space.jayampatel.otelier.service.BookingReadRouter;
 import space.jayampatel.otelier.service.BookingService;
 import space.jayampatel.otelier.service.AuthorizationService;
 import space.jayampatel.otelier.security.AuthenticationContext;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -20,9 +31,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Tag(name = "Bookings", description = "Hotel booking APIs")
 @RestController
@@ -40,30 +52,100 @@ public class BookingController {
     @Autowired
     private AuthenticationContext authContext;
     
+    @Autowired
+    private BookingEventHub bookingEventHub;
+    
+    @Autowired
+    private BookingJsonWriter bookingJsonWriter;
+    
+    @Autowired
+    private BookingExportWriter bookingExportWriter;
+    
+    @Autowired
+    private BookingImportService bookingImportService;
+
+    @Autowired
+    private BookingReadRouter bookingReadRouter;
+    
+    @Autowired
+    private LogSampler logSampler;
+    
     /**
      * GET /api/hotels/{hotelId}/bookings
      * List bookings for hotels user has access to
      */
     @Operation(summary = "List bookings for a hotel")
     @GetMapping
-    public ResponseEntity<List<BookingResponse>> getBookings(
+    public ResponseEntity<StreamingResponseBody> getBookings(
             @PathVariable String hotelId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(name = BookingReadRouter.LAST_WRITE_HEADER, required = false) String lastWriteHeader,
+            @CookieValue(name = BookingReadRouter.LAST_WRITE_COOKIE, required = false) String lastWriteCookie) {
         
-        logger.info("GET /api/hotels/{}/bookings", hotelId);
+        if (logSampler.sample()) {
+            logger.info("GET /api/hotels/{}/bookings", hotelId);
+        }
         
         // Check hotel access
         authorizationService.checkHotelAccess(hotelId);
         
-        List<Booking> bookings = bookingService.getBookings(hotelId, startDate, endDate);
+        Long lastWrite = bookingReadRouter.lastWrite(lastWriteHeader, lastWriteCookie);
+        
+        // Written straight from the Mongo cursor, no intermediate list
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Booking> bookings =
+                         bookingService.streamBookings(hotelId, startDate, endDate, lastWrite, includeArchived)) {
+                int count = bookingJsonWriter.writeArray(bookings, outputStream);
+                if (logSampler.sample()) {
+                    logger.info("Returned {} bookings", count);
+                }
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+    
+    /**
+     * GET /api/hotels/{hotelId}/bookings/export?format=csv|ndjson&after={bookingId}
+     * Stream the full booking history (requires manager or admin role for the hotel);
+     * pass the last exported id as "after" to resume
+     */
+    @Operation(summary = "Export bookings as CSV or NDJSON")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @PathVariable String hotelId,
+            @RequestParam(defaultValue = BookingExportWriter.CSV) String format,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "true") boolean includeArchived) {
+        
+        logger.info("GET /api/hotels/{}/bookings/export, format: {}, after: {}", hotelId, format, after);
+        
+        if (!BookingExportWriter.CSV.equals(format) && !BookingExportWriter.NDJSON.equals(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        
+        authorizationService.checkHotelRole(hotelId, "manager", "admin");
+        
+        boolean csv = BookingExportWriter.CSV.equals(format);
         
-        List<BookingResponse> response = bookings.stream()
-                .map(BookingResponse::new)
-                .collect(Collectors.toList());
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Booking> bookings = bookingService.streamForExport(hotelId, after, includeArchived)) {
+                int count = csv
+                        ? bookingExportWriter.writeCsv(bookings, outputStream)
+                        : bookingExportWriter.writeNdjson(bookings, outputStream);
+                logger.info("Exported {} bookings for hotel {}", count, hotelId);
+            }
+        };
         
-        logger.info("Returning {} bookings", response.size());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .contentType(csv ? MediaType.parseMediaType("text/csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookings-" + toFileName(hotelId) + "." + format + "\"")
+                .body(body);
     }
     
     /**
@@ -76,7 +158,9 @@ public class BookingController {
             @PathVariable String hotelId,
             @Valid @RequestBody CreateBookingRequest request) {
         
-        logger.info("POST /api/hotels/{}/bookings", hotelId);
+        if (logSampler.sample()) {
+            logger.info("POST /api/hotels/{}/bookings", hotelId);
+        }
         
         // Check user has staff/reception role for this hotel
         authorizationService.checkHotelRole(hotelId, "staff", "reception");
@@ -87,6 +171,59 @@ public class BookingController {
         logger.info("Booking created: {}", booking.getId());
         
         BookingResponse response = new BookingResponse(booking);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        
+        // The client's next listings read from the primary until secondaries have caught up
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .headers(bookingReadRouter.writeHint())
+                .body(response);
+    }
+    
+    /**
+     * POST /api/hotels/{hotelId}/bookings/import?format=csv|ndjson
+     * Bulk import bookings from a channel-manager file (requires staff or reception role)
+     */
+    @Operation(summary = "Bulk import bookings from CSV or NDJSON (staff/reception only)")
+    @PostMapping(path = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BookingImportReport> importBookings(
+            @PathVariable String hotelId,
+            @RequestParam(defaultValue = BookingExportWriter.CSV) String format,
+            InputStream body) throws IOException {
+        
+        logger.info("POST /api/hotels/{}/bookings/import, format: {}", hotelId, format);
+        
+        if (!BookingExportWriter.CSV.equals(format) && !BookingExportWriter.NDJSON.equals(format)) {
+            throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+        
+        authorizationService.checkHotelRole(hotelId, "staff", "reception");
+        
+        String userId = authContext.getCurrentUserId();
+        BookingImportReport report = bookingImportService.importBookings(
+                hotelId, body, BookingExportWriter.CSV.equals(format), userId);
+        
+        return ResponseEntity.ok()
+                .headers(bookingReadRouter.writeHint())
+                .body(report);
+    }
+    
+    /**
+     * GET /api/hotels/{hotelId}/bookings/stream
+     * Subscribe to booking created/updated/cancelled events (Server-Sent Events)
+     */
+    @Operation(summary = "Stream booking changes for a hotel")
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBookings(@PathVariable String hotelId) {
+        
+        logger.info("GET /api/hotels/{}/bookings/stream", hotelId);
+        
+        // Access is checked once, at subscribe time
+        authorizationService.checkHotelAccess(hotelId);
+        
+        return bookingEventHub.subscribe(hotelId);
+    }
+
+    // Path variables are client input; keep only filename-safe characters for the header
+    private static String toFileName(String hotelId) {
+        return hotelId.replaceAll("[^A-Za-z0-9._-]", "_");
     }
 }
@@ -0,0 +1,84 @@
+package space.jayampatel.otelier.controller;
+
+import space.jayampatel.otelier.dto.BookingJsonWriter;
+import space.jayampatel.otelier.logging.LogSampler;
+import space.jayampatel.otelier.model.Booking;
+import space.jayampatel.otelier.service.AuthorizationService;
+import space.jayampatel.otelier.service.BookingReadRouter;
+import space.jayampatel.otelier.service.BookingService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+@Tag(name = "Bookings", description = "Hotel booking APIs")
+@RestController
+@RequestMapping("/api/bookings")
+public class ChainBookingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChainBookingController.class);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private BookingJsonWriter bookingJsonWriter;
+
+    @Autowired
+    private BookingReadRouter bookingReadRouter;
+
+    @Autowired
+    private LogSampler logSampler;
+
+    /**
+     * GET /api/bookings?hotelIds=a,b,c
+     * List bookings across several hotels (defaults to all assigned hotels),
+     * streamed as a JSON array ordered by check-in date
+     */
+    @Operation(summary = "List bookings across multiple hotels")
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getBookings(
+            @RequestParam(required = false) List<String> hotelIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(name = BookingReadRouter.LAST_WRITE_HEADER, required = false) String lastWriteHeader,
+            @CookieValue(name = BookingReadRouter.LAST_WRITE_COOKIE, required = false) String lastWriteCookie) {
+
+        if (logSampler.sample()) {
+            logger.info("GET /api/bookings, hotels: {}", hotelIds);
+        }
+
+        // One assignment lookup covers every requested hotel
+        Set<String> accessibleHotelIds = authorizationService.resolveHotelAccess(hotelIds);
+        Long lastWrite = bookingReadRouter.lastWrite(lastWriteHeader, lastWriteCookie);
+
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<Booking> bookings = bookingService.streamBookings(
+                    accessibleHotelIds, startDate, endDate, lastWrite, includeArchived)) {
+                bookingJsonWriter.writeArray(bookings, outputStream);
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+}
@@ -0,0 +1,63 @@
+package space.jayampatel.otelier.controller;
+
+import space.jayampatel.otelier.dto.BookingResponse;
+import space.jayampatel.otelier.dto.GuestSummary;
+import space.jayampatel.otelier.service.AuthorizationService;
+import space.jayampatel.otelier.service.GuestService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+@Tag(name = "Guests", description = "Guest lookup and stay history")
+@RestController
+@RequestMapping("/api/hotels/{hotelId}/guests")
+public class GuestController {
+
+    private static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private GuestService guestService;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    /**
+     * GET /api/hotels/{hotelId}/guests?q=smi&limit=10
+     * Typeahead over the hotel's guests by name word or email prefix
+     */
+    @Operation(summary = "Search a hotel's guests by prefix")
+    @GetMapping
+    public ResponseEntity<List<GuestSummary>> searchGuests(
+            @PathVariable String hotelId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        authorizationService.checkHotelAccess(hotelId);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        return ResponseEntity.ok(guestService.search(hotelId, q, limit));
+    }
+
+    /**
+     * GET /api/hotels/{hotelId}/guests/{guestId}/bookings
+     * The guest's stays at this hotel, newest first
+     */
+    @Operation(summary = "Get a guest's stay history")
+    @GetMapping("/{guestId}/bookings")
+    public ResponseEntity<List<BookingResponse>> getStays(@PathVariable String hotelId,
+                                                          @PathVariable String guestId) {
+        authorizationService.checkHotelAccess(hotelId);
+
+        return ResponseEntity.ok(guestService.getStays(hotelId, guestId).stream()
+                .map(BookingResponse::new)
+                .toList());
+    }
+}
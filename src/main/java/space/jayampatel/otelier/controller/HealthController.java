@@ -1,5 +1,11 @@
 package space.jayampatel.otelier.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.HealthComponent;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -10,12 +16,24 @@ import java.util.Map;
 @RestController
 public class HealthController {
 
+    @Autowired
+    private HealthEndpoint healthEndpoint;
+
+    /**
+     * Legacy load balancer check, backed by the readiness group
+     * (see /actuator/health/liveness and /actuator/health/readiness)
+     */
     @GetMapping("/health")
-    public Map<String, Object> health() {
+    public ResponseEntity<Map<String, Object>> health() {
+        HealthComponent readiness = healthEndpoint.healthForPath("readiness");
+        Status status = readiness != null ? readiness.getStatus() : Status.UNKNOWN;
+        boolean ready = Status.UP.equals(status);
+
         Map<String, Object> response = new HashMap<>();
-        response.put("status", "UP");
+        response.put("status", status.getCode());
         response.put("timestamp", LocalDateTime.now());
         response.put("service", "hotel-booking-api");
-        return response;
+
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
 }
@@ -1,7 +1,7 @@
 package space.jayampatel.otelier.controller;
 
 import space.jayampatel.otelier.model.Hotel;
-import space.jayampatel.otelier.repository.HotelRepository;
+import space.jayampatel.otelier.service.HotelService;
 import space.jayampatel.otelier.security.AuthenticationContext;
 import space.jayampatel.otelier.exception.UnauthorizedException;
 
@@ -15,7 +15,7 @@ import org.springframework.web.bind.annotation.*;
 public class HotelController {
 
     @Autowired
-    private HotelRepository hotelRepository;
+    private HotelService hotelService;
 
     @Autowired
     private AuthenticationContext authContext;
@@ -32,7 +32,7 @@ public class HotelController {
             throw new UnauthorizedException("Admin access required");
         }
 
-        Hotel savedHotel = hotelRepository.save(hotel);
+        Hotel savedHotel = hotelService.createHotel(hotel);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedHotel);
     }
 }
@@ -0,0 +1,48 @@
+package space.jayampatel.otelier.controller;
+
+import space.jayampatel.otelier.dto.DailyManifest;
+import space.jayampatel.otelier.service.AuthorizationService;
+import space.jayampatel.otelier.service.ManifestService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+@Tag(name = "Front Desk", description = "Daily arrivals and departures")
+@RestController
+@RequestMapping("/api/hotels/{hotelId}/manifest")
+public class ManifestController {
+
+    @Autowired
+    private ManifestService manifestService;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Value("${manifest.zone:UTC}")
+    private String zone;
+
+    /**
+     * GET /api/hotels/{hotelId}/manifest?date=2025-01-10
+     * Arrivals and departures for a day (defaults to today)
+     */
+    @Operation(summary = "Get a hotel's arrivals and departures for a day")
+    @GetMapping
+    public ResponseEntity<DailyManifest> getManifest(
+            @PathVariable String hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        authorizationService.checkHotelAccess(hotelId);
+
+        LocalDate day = date != null ? date : LocalDate.now(ZoneId.of(zone));
+        return ResponseEntity.ok(manifestService.getManifest(hotelId, day));
+    }
+}
@@ -0,0 +1,57 @@
+package space.jayampatel.otelier.controller;
+
+import space.jayampatel.otelier.exception.UnauthorizedException;
+import space.jayampatel.otelier.model.OverbookingRule;
+import space.jayampatel.otelier.security.AuthenticationContext;
+import space.jayampatel.otelier.service.RuleBasedOverbookingPolicy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.util.List;
+
+@Tag(name = "Overbooking", description = "Per-hotel overbooking rules")
+@RestController
+@RequestMapping("/api/hotels/{hotelId}/overbooking-rules")
+public class OverbookingRuleController {
+
+    @Autowired
+    private RuleBasedOverbookingPolicy overbookingPolicy;
+
+    @Autowired
+    private AuthenticationContext authContext;
+
+    /**
+     * ADMIN ONLY
+     * GET /api/hotels/{hotelId}/overbooking-rules
+     */
+    @Operation(summary = "List a hotel's overbooking rules")
+    @GetMapping
+    public ResponseEntity<List<OverbookingRule>> getRules(@PathVariable String hotelId) {
+        if (!authContext.hasRole("admin")) {
+            throw new UnauthorizedException("Admin access required");
+        }
+
+        return ResponseEntity.ok(overbookingPolicy.getRules(hotelId));
+    }
+
+    /**
+     * ADMIN ONLY
+     * PUT /api/hotels/{hotelId}/overbooking-rules
+     * Replaces the hotel's rules; bookings already made are not affected
+     */
+    @Operation(summary = "Replace a hotel's overbooking rules")
+    @PutMapping
+    public ResponseEntity<List<OverbookingRule>> replaceRules(@PathVariable String hotelId,
+                                                              @RequestBody List<OverbookingRule> rules) {
+        if (!authContext.hasRole("admin")) {
+            throw new UnauthorizedException("Admin access required");
+        }
+
+        return ResponseEntity.ok(overbookingPolicy.replaceRules(hotelId, rules));
+    }
+}
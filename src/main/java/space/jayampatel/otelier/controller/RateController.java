@@ -0,0 +1,82 @@
+package space.jayampatel.otelier.controller;
+
+import space.jayampatel.otelier.dto.RateQuote;
+import space.jayampatel.otelier.exception.UnauthorizedException;
+import space.jayampatel.otelier.model.RatePlan;
+import space.jayampatel.otelier.security.AuthenticationContext;
+import space.jayampatel.otelier.service.AuthorizationService;
+import space.jayampatel.otelier.service.RateService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Tag(name = "Rates", description = "Rate plans and stay quotes")
+@RestController
+@RequestMapping("/api/hotels/{hotelId}")
+public class RateController {
+
+    @Autowired
+    private RateService rateService;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private AuthenticationContext authContext;
+
+    /**
+     * GET /api/hotels/{hotelId}/quote?roomType=deluxe-king&checkInDate=2025-01-01&checkOutDate=2025-01-04
+     * Price of a stay; 404 when the hotel has no rate plan for the room type
+     */
+    @Operation(summary = "Quote a stay")
+    @GetMapping("/quote")
+    public ResponseEntity<RateQuote> getQuote(
+            @PathVariable String hotelId,
+            @RequestParam(required = false) String roomType,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate) {
+
+        authorizationService.checkHotelAccess(hotelId);
+
+        RateQuote quote = rateService.quote(hotelId, roomType, checkInDate, checkOutDate);
+        return quote == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(quote);
+    }
+
+    /**
+     * ADMIN ONLY
+     * GET /api/hotels/{hotelId}/rate-plans
+     */
+    @Operation(summary = "List a hotel's rate plans")
+    @GetMapping("/rate-plans")
+    public ResponseEntity<List<RatePlan>> getPlans(@PathVariable String hotelId) {
+        if (!authContext.hasRole("admin")) {
+            throw new UnauthorizedException("Admin access required");
+        }
+
+        return ResponseEntity.ok(rateService.getPlans(hotelId));
+    }
+
+    /**
+     * ADMIN ONLY
+     * PUT /api/hotels/{hotelId}/rate-plans
+     * Replaces the hotel's plans; bookings already made keep their price
+     */
+    @Operation(summary = "Replace a hotel's rate plans")
+    @PutMapping("/rate-plans")
+    public ResponseEntity<List<RatePlan>> replacePlans(@PathVariable String hotelId,
+                                                       @RequestBody List<RatePlan> plans) {
+        if (!authContext.hasRole("admin")) {
+            throw new UnauthorizedException("Admin access required");
+        }
+
+        return ResponseEntity.ok(rateService.replacePlans(hotelId, plans));
+    }
+}
@@ -0,0 +1,74 @@
+package space.jayampatel.otelier.controller;
+
+import space.jayampatel.otelier.dto.NightOccupancy;
+import space.jayampatel.otelier.exception.UnauthorizedException;
+import space.jayampatel.otelier.model.Room;
+import space.jayampatel.otelier.security.AuthenticationContext;
+import space.jayampatel.otelier.service.AuthorizationService;
+import space.jayampatel.otelier.service.RoomService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Tag(name = "Rooms", description = "Room catalogue and occupancy")
+@RestController
+@RequestMapping("/api/hotels/{hotelId}/rooms")
+public class RoomController {
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private AuthenticationContext authContext;
+
+    /**
+     * GET /api/hotels/{hotelId}/rooms
+     */
+    @Operation(summary = "List a hotel's rooms")
+    @GetMapping
+    public ResponseEntity<List<Room>> getRooms(@PathVariable String hotelId) {
+        authorizationService.checkHotelAccess(hotelId);
+        return ResponseEntity.ok(roomService.getRooms(hotelId));
+    }
+
+    /**
+     * ADMIN ONLY
+     * POST /api/hotels/{hotelId}/rooms
+     */
+    @Operation(summary = "Add a room to a hotel")
+    @PostMapping
+    public ResponseEntity<Room> addRoom(@PathVariable String hotelId, @RequestBody Room room) {
+        if (!authContext.hasRole("admin")) {
+            throw new UnauthorizedException("Admin access required");
+        }
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(roomService.addRoom(hotelId, room));
+    }
+
+    /**
+     * GET /api/hotels/{hotelId}/rooms/occupancy?startDate=2025-01-01&endDate=2025-01-31
+     * Booked vs total rooms per night in [startDate, endDate)
+     */
+    @Operation(summary = "Get a hotel's nightly occupancy")
+    @GetMapping("/occupancy")
+    public ResponseEntity<List<NightOccupancy>> getOccupancy(
+            @PathVariable String hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        authorizationService.checkHotelAccess(hotelId);
+        return ResponseEntity.ok(roomService.getOccupancy(hotelId, startDate, endDate));
+    }
+}
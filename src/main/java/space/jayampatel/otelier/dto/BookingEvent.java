@@ -0,0 +1,40 @@
+package space.jayampatel.otelier.dto;
+
+import space.jayampatel.otelier.model.Booking;
+import java.time.LocalDateTime;
+
+public class BookingEvent {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String CANCELLED = "CANCELLED";
+
+    private String type; // CREATED, UPDATED, CANCELLED
+    private String hotelId;
+    private BookingResponse booking;
+    private LocalDateTime occurredAt;
+
+    public BookingEvent(String type, Booking booking) {
+        this.type = type;
+        this.hotelId = booking.getHotelId();
+        this.booking = new BookingResponse(booking);
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public String getType() {
+        return type;
+    }
+
+    public String getHotelId() {
+        return hotelId;
+    }
+
+    public BookingResponse getBooking() {
+        return booking;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,167 @@
+package space.jayampatel.otelier.dto;
+
+import space.jayampatel.otelier.model.Booking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes full booking records for export as CSV or NDJSON, one row at a time.
+ * The booking id is always the first field so the last row written doubles as
+ * the resume checkpoint. New columns are appended so existing consumers keep working.
+ */
+@Component
+public class BookingExportWriter {
+
+    public static final String CSV = "csv";
+    public static final String NDJSON = "ndjson";
+
+    private static final String CSV_HEADER =
+            "id,hotelId,userId,guestName,guestEmail,roomNumber,checkInDate,checkOutDate,status,createdAt,createdBy,"
+                    + "roomType,totalPrice,currency,guestId";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Write bookings as CSV with a header row, returning the number of rows written
+     */
+    public int writeCsv(Stream<Booking> bookings, OutputStream outputStream) throws IOException {
+        int count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        Iterator<Booking> iterator = bookings.iterator();
+        while (iterator.hasNext()) {
+            Booking booking = iterator.next();
+            writeCsvField(writer, booking.getId());
+            writer.write(',');
+            writeCsvField(writer, booking.getHotelId());
+            writer.write(',');
+            writeCsvField(writer, booking.getUserId());
+            writer.write(',');
+            writeCsvField(writer, booking.getGuestName());
+            writer.write(',');
+            writeCsvField(writer, booking.getGuestEmail());
+            writer.write(',');
+            writeCsvField(writer, booking.getRoomNumber());
+            writer.write(',');
+            writeCsvField(writer, booking.getCheckInDate());
+            writer.write(',');
+            writeCsvField(writer, booking.getCheckOutDate());
+            writer.write(',');
+            writeCsvField(writer, booking.getStatus());
+            writer.write(',');
+            writeCsvField(writer, booking.getCreatedAt());
+            writer.write(',');
+            writeCsvField(writer, booking.getCreatedBy());
+            writer.write(',');
+            writeCsvField(writer, booking.getRoomType());
+            writer.write(',');
+            writeCsvField(writer, booking.getTotalPrice());
+            writer.write(',');
+            writeCsvField(writer, booking.getCurrency());
+            writer.write(',');
+            writeCsvField(writer, booking.getGuestId());
+            writer.write('\n');
+            count++;
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Write bookings as newline-delimited JSON, returning the number of rows written
+     */
+    public int writeNdjson(Stream<Booking> bookings, OutputStream outputStream) throws IOException {
+        int count = 0;
+
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                Booking booking = iterator.next();
+                generator.writeStartObject();
+                generator.writeStringField("id", booking.getId());
+                generator.writeStringField("hotelId", booking.getHotelId());
+                generator.writeStringField("userId", booking.getUserId());
+                generator.writeStringField("guestName", booking.getGuestName());
+                generator.writeStringField("guestEmail", booking.getGuestEmail());
+                generator.writeStringField("roomNumber", booking.getRoomNumber());
+                generator.writeStringField("checkInDate", toText(booking.getCheckInDate()));
+                generator.writeStringField("checkOutDate", toText(booking.getCheckOutDate()));
+                generator.writeStringField("status", booking.getStatus());
+                generator.writeStringField("createdAt", toText(booking.getCreatedAt()));
+                generator.writeStringField("createdBy", booking.getCreatedBy());
+                generator.writeStringField("roomType", booking.getRoomType());
+                if (booking.getTotalPrice() != null) {
+                    generator.writeNumberField("totalPrice", booking.getTotalPrice());
+                } else {
+                    generator.writeNullField("totalPrice");
+                }
+                generator.writeStringField("currency", booking.getCurrency());
+                generator.writeStringField("guestId", booking.getGuestId());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    // RFC 4180: quote fields containing separators, quotes or line breaks
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        String text = toText(value);
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+
+        // Guest-supplied text must not be evaluated as a formula when the file is opened in a spreadsheet
+        char first = text.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            text = "'" + text;
+        }
+
+        boolean quote = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                quote = true;
+                break;
+            }
+        }
+
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static String toText(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime);
+        }
+        return value == null ? null : value.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package space.jayampatel.otelier.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk booking import, with one entry per input row
+ */
+public class BookingImportReport {
+
+    public static final String IMPORTED = "IMPORTED";
+    public static final String INVALID = "INVALID";
+    public static final String CONFLICT = "CONFLICT";
+    public static final String FAILED = "FAILED";
+
+    private int total;
+    private int imported;
+    private int rejected;
+    private List<RowResult> rows = new ArrayList<>();
+
+    public void add(RowResult row) {
+        rows.add(row);
+        total++;
+        if (IMPORTED.equals(row.getStatus())) {
+            imported++;
+        } else {
+            rejected++;
+        }
+    }
+
+    // Getters
+    public int getTotal() {
+        return total;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public static class RowResult {
+
+        private int line;
+        private String status; // IMPORTED, INVALID, CONFLICT, FAILED
+        private String bookingId;
+        private String message;
+
+        public RowResult(int line, String status, String bookingId, String message) {
+            this.line = line;
+            this.status = status;
+            this.bookingId = bookingId;
+            this.message = message;
+        }
+
+        // Getters
+        public int getLine() {
+            return line;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public String getBookingId() {
+            return bookingId;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
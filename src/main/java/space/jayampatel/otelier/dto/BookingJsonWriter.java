@@ -0,0 +1,162 @@
+package space.jayampatel.otelier.dto;
+
+import space.jayampatel.otelier.model.Booking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes booking listings straight from {@link Booking} entities to the response stream.
+ *
+ * Produces the same JSON shape as {@link BookingResponse}, but skips the per-row
+ * DTO copy, the intermediate list and reflective bean serialization. Check-in and
+ * check-out dates repeat heavily within a listing, so their ISO strings are cached;
+ * timestamps are formatted into a small char array instead of through DateTimeFormatter.
+ * BookingJsonWriterTest keeps the output field-for-field equal to BookingResponse;
+ * BookingJsonWriterBenchmark measures bytes allocated per row against the DTO path.
+ */
+@Component
+public class BookingJsonWriter {
+
+    private static final int DATE_CACHE_SIZE = 1024; // power of two
+
+    private final CachedDate[] dateCache = new CachedDate[DATE_CACHE_SIZE];
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Write bookings as a JSON array, returning the number of bookings written
+     */
+    public int writeArray(Stream<Booking> bookings, OutputStream outputStream) throws IOException {
+        int count = 0;
+
+        try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+            generator.writeStartArray();
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                write(iterator.next(), generator);
+                count++;
+            }
+            generator.writeEndArray();
+        }
+
+        return count;
+    }
+
+    /**
+     * Write a single booking as a JSON object
+     */
+    public void write(Booking booking, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", booking.getId());
+        generator.writeStringField("hotelId", booking.getHotelId());
+        generator.writeStringField("guestName", booking.getGuestName());
+        generator.writeStringField("guestEmail", booking.getGuestEmail());
+        generator.writeStringField("guestId", booking.getGuestId());
+        generator.writeStringField("roomNumber", booking.getRoomNumber());
+        generator.writeStringField("roomType", booking.getRoomType());
+        if (booking.getTotalPrice() != null) {
+            generator.writeNumberField("totalPrice", booking.getTotalPrice());
+        } else {
+            generator.writeNullField("totalPrice");
+        }
+        generator.writeStringField("currency", booking.getCurrency());
+        generator.writeStringField("checkInDate", formatDate(booking.getCheckInDate()));
+        generator.writeStringField("checkOutDate", formatDate(booking.getCheckOutDate()));
+        generator.writeStringField("status", booking.getStatus());
+        writeDateTime(generator, "createdAt", booking.getCreatedAt());
+        generator.writeEndObject();
+    }
+
+    private String formatDate(LocalDate date) {
+        if (date == null) {
+            return null;
+        }
+
+        long epochDay = date.toEpochDay();
+        int slot = (int) (epochDay & (DATE_CACHE_SIZE - 1));
+
+        // Racy but safe: entries are immutable and a miss just recomputes
+        CachedDate cached = dateCache[slot];
+        if (cached != null && cached.epochDay == epochDay) {
+            return cached.text;
+        }
+
+        String text = date.toString();
+        dateCache[slot] = new CachedDate(epochDay, text);
+        return text;
+    }
+
+    // Jackson's default LocalDateTime output (ISO_LOCAL_DATE_TIME), without the formatter's per-call garbage
+    private static void writeDateTime(JsonGenerator generator, String field, LocalDateTime dateTime)
+            throws IOException {
+        generator.writeFieldName(field);
+        if (dateTime == null) {
+            generator.writeNull();
+            return;
+        }
+
+        int year = dateTime.getYear();
+        if (year < 0 || year > 9999) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(dateTime));
+            return;
+        }
+
+        char[] text = new char[29];
+        digits(text, 0, year, 4);
+        text[4] = '-';
+        digits(text, 5, dateTime.getMonthValue(), 2);
+        text[7] = '-';
+        digits(text, 8, dateTime.getDayOfMonth(), 2);
+        text[10] = 'T';
+        digits(text, 11, dateTime.getHour(), 2);
+        text[13] = ':';
+        digits(text, 14, dateTime.getMinute(), 2);
+        text[16] = ':';
+        digits(text, 17, dateTime.getSecond(), 2);
+
+        int length = 19;
+        int nano = dateTime.getNano();
+        if (nano != 0) {
+            // Fraction without trailing zeros
+            int width = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                width--;
+            }
+            text[19] = '.';
+            digits(text, 20, nano, width);
+            length = 20 + width;
+        }
+        generator.writeString(text, 0, length);
+    }
+
+    private static void digits(char[] text, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static final class CachedDate {
+        private final long epochDay;
+        private final String text;
+
+        private CachedDate(long epochDay, String text) {
+            this.epochDay = epochDay;
+            this.text = text;
+        }
+    }
+}
@@ -10,7 +10,11 @@ public class BookingResponse {
     private String hotelId;
     private String guestName;
     private String guestEmail;
+    private String guestId;
     private String roomNumber;
+    private String roomType;
+    private Long totalPrice;
+    private String currency;
     private LocalDate checkInDate;
     private LocalDate checkOutDate;
     private String status;
@@ -22,7 +26,11 @@ public class BookingResponse {
         this.hotelId = booking.getHotelId();
         this.guestName = booking.getGuestName();
         this.guestEmail = booking.getGuestEmail();
+        this.guestId = booking.getGuestId();
         this.roomNumber = booking.getRoomNumber();
+        this.roomType = booking.getRoomType();
+        this.totalPrice = booking.getTotalPrice();
+        this.currency = booking.getCurrency();
         this.checkInDate = booking.getCheckInDate();
         this.checkOutDate = booking.getCheckOutDate();
         this.status = booking.getStatus();
@@ -62,6 +70,14 @@ public class BookingResponse {
         this.guestEmail = guestEmail;
     }
     
+    public String getGuestId() {
+        return guestId;
+    }
+    
+    public void setGuestId(String guestId) {
+        this.guestId = guestId;
+    }
+    
     public String getRoomNumber() {
         return roomNumber;
     }
@@ -70,6 +86,30 @@ public class BookingResponse {
         this.roomNumber = roomNumber;
     }
     
+    public String getRoomType() {
+        return roomType;
+    }
+    
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+    
+    public Long getTotalPrice() {
+        return totalPrice;
+    }
+    
+    public void setTotalPrice(Long totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    
     public LocalDate getCheckInDate() {
         return checkInDate;
     }
@@ -1,5 +1,8 @@
 package space.jayampatel.otelier.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Email;
@@ -15,9 +18,11 @@ public class CreateBookingRequest {
     @Email(message = "Invalid email format")
     private String guestEmail;
     
-    @NotBlank(message = "Room number is required")
+    // Either a specific room, or a room type to allocate a room from
     private String roomNumber;
     
+    private String roomType;
+    
     @NotNull(message = "Check-in date is required")
     private LocalDate checkInDate;
     
@@ -49,6 +54,28 @@ public class CreateBookingRequest {
         this.roomNumber = roomNumber;
     }
     
+    public String getRoomType() {
+        return roomType;
+    }
+    
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+    
+    /**
+     * True when the client asked for a room type rather than a specific room
+     */
+    @JsonIgnore
+    public boolean isRoomTypeBooking() {
+        return (roomNumber == null || roomNumber.isBlank()) && roomType != null && !roomType.isBlank();
+    }
+    
+    @JsonIgnore
+    @AssertTrue(message = "Room number or room type is required")
+    public boolean isRoomRequested() {
+        return (roomNumber != null && !roomNumber.isBlank()) || (roomType != null && !roomType.isBlank());
+    }
+    
     public LocalDate getCheckInDate() {
         return checkInDate;
     }
@@ -0,0 +1,96 @@
+package space.jayampatel.otelier.dto;
+
+import space.jayampatel.otelier.model.Booking;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Front desk manifest: a hotel's arrivals and departures for one day.
+ * Instances are immutable; updates produce a new copy.
+ */
+public class DailyManifest {
+
+    private final String hotelId;
+    private final LocalDate date;
+    private final List<BookingResponse> arrivals;
+    private final List<BookingResponse> departures;
+    private final LocalDateTime generatedAt;
+
+    public DailyManifest(String hotelId, LocalDate date, List<Booking> arrivals, List<Booking> departures) {
+        this(hotelId, date, toResponses(arrivals), toResponses(departures), LocalDateTime.now());
+    }
+
+    private DailyManifest(String hotelId, LocalDate date, List<BookingResponse> arrivals,
+                          List<BookingResponse> departures, LocalDateTime generatedAt) {
+        this.hotelId = hotelId;
+        this.date = date;
+        this.arrivals = Collections.unmodifiableList(arrivals);
+        this.departures = Collections.unmodifiableList(departures);
+        this.generatedAt = generatedAt;
+    }
+
+    /**
+     * Copy of this manifest with a newly created booking added where it applies
+     */
+    public DailyManifest withBooking(Booking booking) {
+        List<BookingResponse> newArrivals = arrivals;
+        List<BookingResponse> newDepartures = departures;
+
+        if (date.equals(booking.getCheckInDate()) && !contains(arrivals, booking.getId())) {
+            newArrivals = new ArrayList<>(arrivals);
+            newArrivals.add(new BookingResponse(booking));
+        }
+
+        if (date.equals(booking.getCheckOutDate()) && !contains(departures, booking.getId())) {
+            newDepartures = new ArrayList<>(departures);
+            newDepartures.add(new BookingResponse(booking));
+        }
+
+        if (newArrivals == arrivals && newDepartures == departures) {
+            return this;
+        }
+
+        return new DailyManifest(hotelId, date, newArrivals, newDepartures, generatedAt);
+    }
+
+    private static boolean contains(List<BookingResponse> bookings, String bookingId) {
+        for (BookingResponse booking : bookings) {
+            if (booking.getId() != null && booking.getId().equals(bookingId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<BookingResponse> toResponses(List<Booking> bookings) {
+        List<BookingResponse> responses = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            responses.add(new BookingResponse(booking));
+        }
+        return responses;
+    }
+
+    // Getters
+    public String getHotelId() {
+        return hotelId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public List<BookingResponse> getArrivals() {
+        return arrivals;
+    }
+
+    public List<BookingResponse> getDepartures() {
+        return departures;
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+}
@@ -0,0 +1,32 @@
+package space.jayampatel.otelier.dto;
+
+import space.jayampatel.otelier.model.Guest;
+
+/**
+ * A guest as shown to one hotel's front desk (without the guest's other hotels)
+ */
+public class GuestSummary {
+
+    private String id;
+    private String name;
+    private String email;
+
+    public GuestSummary(Guest guest, String hotelId) {
+        this.id = guest.getId();
+        this.name = guest.getName(hotelId);
+        this.email = guest.getEmail();
+    }
+
+    // Getters
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,29 @@
+package space.jayampatel.otelier.dto;
+
+import java.time.LocalDate;
+
+public class NightOccupancy {
+
+    private LocalDate date;
+    private int bookedRooms;
+    private int totalRooms;
+
+    public NightOccupancy(LocalDate date, int bookedRooms, int totalRooms) {
+        this.date = date;
+        this.bookedRooms = bookedRooms;
+        this.totalRooms = totalRooms;
+    }
+
+    // Getters
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public int getBookedRooms() {
+        return bookedRooms;
+    }
+
+    public int getTotalRooms() {
+        return totalRooms;
+    }
+}
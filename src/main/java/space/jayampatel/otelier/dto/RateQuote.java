@@ -0,0 +1,53 @@
+package space.jayampatel.otelier.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Price of a stay, amounts in minor units (cents)
+ */
+public class RateQuote {
+
+    private String roomType;
+    private LocalDate checkInDate;
+    private LocalDate checkOutDate;
+    private String currency;
+    private long[] nightlyRates;
+    private long total;
+
+    public RateQuote(String roomType, LocalDate checkInDate, LocalDate checkOutDate,
+                     String currency, long[] nightlyRates) {
+        this.roomType = roomType;
+        this.checkInDate = checkInDate;
+        this.checkOutDate = checkOutDate;
+        this.currency = currency;
+        this.nightlyRates = nightlyRates;
+        for (long rate : nightlyRates) {
+            this.total += rate;
+        }
+    }
+
+    // Getters
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public LocalDate getCheckInDate() {
+        return checkInDate;
+    }
+
+    public LocalDate getCheckOutDate() {
+        return checkOutDate;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public long[] getNightlyRates() {
+        return nightlyRates;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
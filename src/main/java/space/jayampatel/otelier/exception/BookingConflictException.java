@@ -1,7 +1,9 @@
 package space.jayampatel.otelier.exception;
 
-public class BookingConflictException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class BookingConflictException extends DomainException {
     public BookingConflictException(String message) {
-        super(message);
+        super(HttpStatus.CONFLICT, "Booking Conflict", message);
     }
 }
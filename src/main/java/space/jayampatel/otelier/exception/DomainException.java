@@ -0,0 +1,45 @@
+package space.jayampatel.otelier.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base for expected, high-frequency request outcomes (conflicts, access denied).
+ *
+ * These are control flow rather than bugs, so no stack trace is captured and
+ * suppression is disabled. That also makes instances with a fixed message safe to
+ * pre-allocate and share. The problem+json body is built once per instance.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final String title;
+
+    // Racy but safe: the bytes are immutable and a miss just rebuilds them
+    private byte[] problemBody;
+
+    protected DomainException(HttpStatus status, String title, String message) {
+        super(message, null, false, false);
+        this.status = status;
+        this.title = title;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * RFC 7807 body for this error
+     */
+    public byte[] getProblemBody() {
+        byte[] body = problemBody;
+        if (body == null) {
+            body = ProblemJson.write(status, title, getMessage());
+            problemBody = body;
+        }
+        return body;
+    }
+}
@@ -0,0 +1,13 @@
+package space.jayampatel.otelier.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Room request the hotel can't satisfy as asked: an unknown room number or room type,
+ * or dates outside the bookable window
+ */
+public class InvalidRoomException extends DomainException {
+    public InvalidRoomException(String message) {
+        super(HttpStatus.UNPROCESSABLE_ENTITY, "Invalid Room Request", message);
+    }
+}
@@ -0,0 +1,19 @@
+package space.jayampatel.otelier.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Request shed by a concurrency limit; the client should retry after a short delay
+ */
+public class OverloadedException extends DomainException {
+
+    public static final OverloadedException READS =
+            new OverloadedException("Too many concurrent booking reads, retry shortly");
+
+    public static final OverloadedException WRITES =
+            new OverloadedException("Too many concurrent booking writes, retry shortly");
+
+    public OverloadedException(String message) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", message);
+    }
+}
@@ -0,0 +1,51 @@
+package space.jayampatel.otelier.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes RFC 7807 problem+json bodies in one fixed shape:
+ * {"type":"about:blank","title":...,"status":...,"detail":...}
+ *
+ * Straight to bytes, without a map or a reflective serializer pass.
+ */
+public final class ProblemJson {
+
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+
+    private static final byte[] TYPE_AND_TITLE = ascii("{\"type\":\"about:blank\",\"title\":\"");
+    private static final byte[] STATUS = ascii("\",\"status\":");
+    private static final byte[] DETAIL = ascii(",\"detail\":\"");
+    private static final byte[] END_WITH_DETAIL = ascii("\"}");
+    private static final byte[] END = ascii("}");
+
+    private ProblemJson() {
+    }
+
+    public static byte[] write(HttpStatus status, String title, String detail) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+
+        out.writeBytes(TYPE_AND_TITLE);
+        out.writeBytes(ENCODER.quoteAsUTF8(title));
+        out.writeBytes(STATUS);
+        out.writeBytes(ascii(Integer.toString(status.value())));
+
+        if (detail != null) {
+            out.writeBytes(DETAIL);
+            out.writeBytes(ENCODER.quoteAsUTF8(detail));
+            out.writeBytes(END_WITH_DETAIL);
+        } else {
+            out.writeBytes(END);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -1,7 +1,14 @@
 package space.jayampatel.otelier.exception;
 
-public class UnauthorizedException extends RuntimeException {
+import org.springframework.http.HttpStatus;
+
+public class UnauthorizedException extends DomainException {
+
+    // Shared instance for the most common denial; stackless, so safe to reuse
+    public static final UnauthorizedException NO_HOTEL_ACCESS =
+            new UnauthorizedException("You don't have access to this hotel");
+
     public UnauthorizedException(String message) {
-        super(message);
+        super(HttpStatus.UNAUTHORIZED, "Unauthorized", message);
     }
 }
@@ -0,0 +1,73 @@
+package space.jayampatel.otelier.health;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mongo reachability and ping latency for the readiness probe.
+ *
+ * The result is cached for a short time. Probes that arrive while a refresh is
+ * running get the previous result, so a burst of health checks sends at most
+ * one ping to Mongo.
+ */
+@Component("mongoPing")
+public class MongoPingHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${health.mongo.cache-ms:2000}")
+    private long cacheMs;
+
+    @Value("${health.mongo.max-latency-ms:500}")
+    private long maxLatencyMs;
+
+    private final AtomicBoolean refreshing = new AtomicBoolean(false);
+
+    private volatile Health cached;
+    private volatile long checkedAt;
+
+    @Override
+    public Health health() {
+        Health current = cached;
+        if (current != null && System.currentTimeMillis() - checkedAt < cacheMs) {
+            return current;
+        }
+
+        if (!refreshing.compareAndSet(false, true)) {
+            return current != null ? current : Health.unknown().build();
+        }
+
+        try {
+            current = ping();
+            cached = current;
+            checkedAt = System.currentTimeMillis();
+            return current;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    private Health ping() {
+        long start = System.nanoTime();
+        try {
+            mongoTemplate.executeCommand(new Document("ping", 1));
+        } catch (Exception e) {
+            return Health.down(e).build();
+        }
+        long latencyMs = (System.nanoTime() - start) / 1_000_000;
+
+        Health.Builder builder = latencyMs > maxLatencyMs
+                ? Health.status(Status.OUT_OF_SERVICE)
+                : Health.up();
+        return builder.withDetail("latencyMs", latencyMs).build();
+    }
+}
@@ -0,0 +1,41 @@
+package space.jayampatel.otelier.health;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * On shutdown, reports not-ready first, then waits before the web server stops
+ * accepting connections. This gives the load balancer time to deregister the
+ * node. Graceful shutdown (server.shutdown=graceful) then lets in-flight requests,
+ * including booking writes, finish.
+ */
+@Component
+public class ShutdownDrainListener implements ApplicationListener<ContextClosedEvent> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShutdownDrainListener.class);
+
+    @Value("${health.shutdown.drain-delay-ms:5000}")
+    private long drainDelayMs;
+
+    @Override
+    public void onApplicationEvent(ContextClosedEvent event) {
+        AvailabilityChangeEvent.publish(event.getApplicationContext(), ReadinessState.REFUSING_TRAFFIC);
+
+        if (drainDelayMs <= 0) {
+            return;
+        }
+
+        logger.info("Refusing traffic; draining for {} ms before shutdown", drainDelayMs);
+        try {
+            Thread.sleep(drainDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package space.jayampatel.otelier.health;
+
+import space.jayampatel.otelier.service.WarmupService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the node out of rotation until startup warm-up has finished
+ */
+@Component("warmup")
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    @Autowired
+    private WarmupService warmupService;
+
+    @Override
+    public Health health() {
+        return warmupService.isComplete()
+                ? Health.up().build()
+                : Health.status(Status.OUT_OF_SERVICE).build();
+    }
+}
@@ -0,0 +1,135 @@
+package space.jayampatel.otelier.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency (gradient-style, AIMD-like).
+ *
+ * A slow-moving average of request latency is the baseline. While a request's latency
+ * stays within tolerance x baseline and the limit is actually in use, the limit grows by
+ * about sqrt(limit); as latency rises above that, it shrinks in proportion (down to half
+ * per sample, smoothed). Errors cut it by 10%. Acquiring a permit is one CAS, and a
+ * request over the limit is rejected at once instead of queueing.
+ */
+public final class AdaptiveLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double BASELINE_WEIGHT = 0.01;
+    private static final double ERROR_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+
+    private volatile double limit;
+
+    // Guarded by this
+    private double baselineNanos;
+
+    public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                           MeterRegistry meterRegistry) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+
+        this.rejected = Counter.builder("concurrency.rejected").tag("limiter", name).register(meterRegistry);
+        Gauge.builder("concurrency.limit", this, AdaptiveLimiter::getLimit)
+                .tag("limiter", name).register(meterRegistry);
+        Gauge.builder("concurrency.in-flight", inFlight, AtomicInteger::get)
+                .tag("limiter", name).register(meterRegistry);
+    }
+
+    /**
+     * A permit, or null when the limit is reached
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(System.nanoTime());
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart, boolean failed) {
+        double current = limit;
+        double next;
+
+        if (failed) {
+            next = current * ERROR_BACKOFF;
+        } else {
+            double rtt = Math.max(rttNanos, 1);
+            baselineNanos = baselineNanos == 0 ? rtt : baselineNanos * (1 - BASELINE_WEIGHT) + rtt * BASELINE_WEIGHT;
+
+            // After a long slow spell, let the baseline come back down quickly
+            if (baselineNanos / rtt > 2) {
+                baselineNanos *= 0.95;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * baselineNanos / rtt));
+
+            // Healthy but mostly idle: nothing shows the limit is too low, so don't grow it
+            if (gradient == 1.0 && inFlightAtStart * 2 < current) {
+                return;
+            }
+
+            next = current * (1 - SMOOTHING) + (current * gradient + Math.sqrt(current)) * SMOOTHING;
+        }
+
+        limit = Math.max(minLimit, Math.min(next, maxLimit));
+    }
+
+    /**
+     * One admitted request. Release exactly when it finishes; repeated releases are ignored.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private final int inFlightAtStart = inFlight.get();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * @param failed the request failed in a way that suggests overload (5xx, timeout)
+         */
+        public void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                update(System.nanoTime() - startNanos, inFlightAtStart, failed);
+            }
+        }
+
+        /**
+         * Release without sampling, for requests whose latency says nothing about the
+         * backend (rejected input, denied access, cache hits)
+         */
+        public void ignore() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
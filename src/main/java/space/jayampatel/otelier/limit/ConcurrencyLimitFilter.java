@@ -0,0 +1,183 @@
+package space.jayampatel.otelier.limit;
+
+import space.jayampatel.otelier.exception.OverloadedException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds booking requests with 503 when Mongo-bound work is already at its adaptive limit.
+ *
+ * Reads (GET/HEAD) and writes have separate {@link AdaptiveLimiter}s, so throttled
+ * listing traffic can't starve booking creation. A permit is held until the response is
+ * complete, including asynchronously streamed bodies. Runs ahead of the security chain
+ * so a shed request costs no JWT or Mongo work. The SSE stream, export and import are
+ * not limited: they are long-running by design and would skew the latency baseline.
+ *
+ * Only 2xx responses feed the latency baseline and only 5xx count as errors. Other
+ * statuses (bad input, denied access, unknown paths) and responses served without
+ * Mongo ({@link #skipLatencySample}) release their permit unsampled, since their fast
+ * latency would drag the baseline down and make normal Mongo latency look like overload.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String CHAIN_BOOKINGS_PATH = "/api/bookings";
+    private static final String HOTEL_PATH_PREFIX = "/api/hotels/";
+    private static final String RETRY_AFTER_SECONDS = "1";
+    private static final String SKIP_SAMPLE_ATTRIBUTE = ConcurrencyLimitFilter.class.getName() + ".skipSample";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${limits.enabled:true}")
+    private boolean enabled;
+
+    @Value("${limits.tolerance:2.0}")
+    private double tolerance;
+
+    @Value("${limits.read.initial:50}")
+    private int readInitial;
+
+    @Value("${limits.read.min:5}")
+    private int readMin;
+
+    @Value("${limits.read.max:200}")
+    private int readMax;
+
+    @Value("${limits.write.initial:30}")
+    private int writeInitial;
+
+    @Value("${limits.write.min:5}")
+    private int writeMin;
+
+    @Value("${limits.write.max:100}")
+    private int writeMax;
+
+    private AdaptiveLimiter readLimiter;
+    private AdaptiveLimiter writeLimiter;
+
+    @PostConstruct
+    public void init() {
+        readLimiter = new AdaptiveLimiter("booking-reads", readInitial, readMin, readMax, tolerance, meterRegistry);
+        writeLimiter = new AdaptiveLimiter("booking-writes", writeInitial, writeMin, writeMax, tolerance, meterRegistry);
+    }
+
+    /**
+     * Mark the current request as answered without Mongo (e.g. from a cache), so its
+     * latency is not sampled. Works on async threads of the request too.
+     */
+    public static void skipLatencySample() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(SKIP_SAMPLE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+
+        String uri = request.getRequestURI();
+        boolean bookings = uri.startsWith(CHAIN_BOOKINGS_PATH)
+                || (uri.startsWith(HOTEL_PATH_PREFIX) && uri.contains("/bookings"));
+        return !bookings || uri.endsWith("/stream") || uri.endsWith("/export") || uri.endsWith("/import");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        AdaptiveLimiter limiter = read ? readLimiter : writeLimiter;
+
+        AdaptiveLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            shed(response, read ? OverloadedException.READS : OverloadedException.WRITES);
+            return;
+        }
+
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                // Streaming body: the request ends when the async response completes
+                request.getAsyncContext().addListener(new PermitListener(permit, request, response));
+            } else if (failed) {
+                permit.release(true);
+            } else {
+                release(permit, request, response);
+            }
+        }
+    }
+
+    private static void release(AdaptiveLimiter.Permit permit, HttpServletRequest request,
+                                HttpServletResponse response) {
+        int status = response.getStatus();
+        if (status >= 500) {
+            permit.release(true);
+        } else if (status >= 200 && status < 300 && request.getAttribute(SKIP_SAMPLE_ATTRIBUTE) == null) {
+            permit.release(false);
+        } else {
+            permit.ignore();
+        }
+    }
+
+    private static void shed(HttpServletResponse response, OverloadedException overload) throws IOException {
+        byte[] body = overload.getProblemBody();
+        response.setStatus(overload.getStatus().value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private record PermitListener(AdaptiveLimiter.Permit permit, HttpServletRequest request,
+                                  HttpServletResponse response) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(permit, request, response);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
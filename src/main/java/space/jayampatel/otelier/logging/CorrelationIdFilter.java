@@ -0,0 +1,56 @@
+package space.jayampatel.otelier.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Puts a request id in the MDC for every log line of a request and echoes it back.
+ * An incoming X-Request-Id (e.g. from the load balancer) is reused. The request's
+ * {@link LogSampler} decision is made here too, so its sampled lines are kept or
+ * dropped together.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelationIdFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Request-Id";
+    public static final String MDC_KEY = "requestId";
+
+    private static final int MAX_LENGTH = 64;
+
+    @Autowired
+    private LogSampler logSampler;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String requestId = request.getHeader(HEADER);
+        if (requestId == null || requestId.isBlank() || requestId.length() > MAX_LENGTH) {
+            requestId = UUID.randomUUID().toString();
+        }
+
+        MDC.put(MDC_KEY, requestId);
+        MDC.put(LogSampler.MDC_KEY, Boolean.toString(logSampler.decide()));
+        response.setHeader(HEADER, requestId);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_KEY);
+            MDC.remove(LogSampler.MDC_KEY);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package space.jayampatel.otelier.logging;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a hot-path info log line is written.
+ *
+ * Per-request logs go through this so log volume stays flat as booking traffic
+ * grows. Business events and warnings must not go through it. The decision is made once
+ * per request by the {@link CorrelationIdFilter} and kept in the MDC, so a sampled
+ * request logs all of its lines and an unsampled one none. Work outside a request
+ * thread is sampled line by line. With a rate of 1 every line is logged, and with 0
+ * none are.
+ */
+@Component
+public class LogSampler {
+
+    @Value("${logging.sampling.rate:0.01}")
+    private double rate;
+
+    public static final String MDC_KEY = "sampled";
+
+    /**
+     * Whether the current request (or, outside one, this line) is logged
+     */
+    public boolean sample() {
+        String sampled = MDC.get(MDC_KEY);
+        return sampled != null ? Boolean.parseBoolean(sampled) : decide();
+    }
+
+    /**
+     * A fresh sampling decision at the configured rate
+     */
+    public boolean decide() {
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+}
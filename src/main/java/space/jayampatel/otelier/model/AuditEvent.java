@@ -0,0 +1,101 @@
+package space.jayampatel.otelier.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import java.time.Instant;
+
+/**
+ * One audited change: who did what to which booking or assignment, and when.
+ * Stored in a time-series collection bucketed by hotel; events are never updated.
+ */
+@TimeSeries(collection = "audit_events", timeField = "at", metaField = "hotelId", granularity = Granularity.SECONDS)
+public class AuditEvent {
+
+    public static final String BOOKING_CREATED = "BOOKING_CREATED";
+    public static final String BOOKING_IMPORTED = "BOOKING_IMPORTED";
+    public static final String USER_ASSIGNED = "USER_ASSIGNED";
+
+    @Id
+    private String id;
+
+    private Instant at;
+
+    private String hotelId;
+
+    private String action;
+
+    private String entityId; // booking or assignment ID
+
+    private String actorId;
+
+    private String detail;
+
+    public AuditEvent() {
+    }
+
+    public AuditEvent(String action, String hotelId, String entityId, String actorId, String detail) {
+        this.at = Instant.now();
+        this.action = action;
+        this.hotelId = hotelId;
+        this.entityId = entityId;
+        this.actorId = actorId;
+        this.detail = detail;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Instant getAt() {
+        return at;
+    }
+
+    public void setAt(Instant at) {
+        this.at = at;
+    }
+
+    public String getHotelId() {
+        return hotelId;
+    }
+
+    public void setHotelId(String hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+
+    public String getActorId() {
+        return actorId;
+    }
+
+    public void setActorId(String actorId) {
+        this.actorId = actorId;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public void setDetail(String detail) {
+        this.detail = detail;
+    }
+}
@@ -2,13 +2,18 @@ package space.jayampatel.otelier.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Document(collection = "bookings")
+@CompoundIndex(name = "hotel_checkin_idx", def = "{'hotelId': 1, 'checkInDate': 1}")
 public class Booking {
     
+    // Checked-out stays older than the archive horizon are moved here
+    public static final String ARCHIVE_COLLECTION = "bookings_archive";
+    
     @Id
     private String id;
     
@@ -21,7 +26,16 @@ public class Booking {
     
     private String guestEmail;
     
-    private String roomNumber;
+    @Indexed
+    private String guestId; // deduplicated guest profile, see Guest
+    
+    private String roomNumber; // empty for overbooked stays not yet given a room
+    
+    private String roomType;
+    
+    private Long totalPrice; // minor units (cents); empty when the hotel has no rate plan
+    
+    private String currency;
     
     @Indexed
     private LocalDate checkInDate;
@@ -82,6 +96,14 @@ public class Booking {
         this.guestEmail = guestEmail;
     }
     
+    public String getGuestId() {
+        return guestId;
+    }
+    
+    public void setGuestId(String guestId) {
+        this.guestId = guestId;
+    }
+    
     public String getRoomNumber() {
         return roomNumber;
     }
@@ -90,6 +112,30 @@ public class Booking {
         this.roomNumber = roomNumber;
     }
     
+    public String getRoomType() {
+        return roomType;
+    }
+    
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+    
+    public Long getTotalPrice() {
+        return totalPrice;
+    }
+    
+    public void setTotalPrice(Long totalPrice) {
+        this.totalPrice = totalPrice;
+    }
+    
+    public String getCurrency() {
+        return currency;
+    }
+    
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+    
     public LocalDate getCheckInDate() {
         return checkInDate;
     }
@@ -0,0 +1,82 @@
+package space.jayampatel.otelier.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A guest, deduplicated by normalized email across every booking and hotel
+ */
+@Document(collection = "guests")
+public class Guest {
+
+    @Id
+    private String id;
+
+    @Indexed(unique = true)
+    private String email; // normalized, see normalizeEmail
+
+    private Map<String, String> names = new HashMap<>(); // hotelId -> name as booked there
+
+    @Indexed
+    private Set<String> hotelIds = new HashSet<>(); // hotels the guest has booked
+
+    private LocalDateTime createdAt;
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    /**
+     * The name the guest booked the hotel under; other hotels' names are never shown
+     */
+    public String getName(String hotelId) {
+        return names == null ? null : names.get(hotelId);
+    }
+
+    public Map<String, String> getNames() {
+        return names;
+    }
+
+    public void setNames(Map<String, String> names) {
+        this.names = names;
+    }
+
+    public Set<String> getHotelIds() {
+        return hotelIds;
+    }
+
+    public void setHotelIds(Set<String> hotelIds) {
+        this.hotelIds = hotelIds;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
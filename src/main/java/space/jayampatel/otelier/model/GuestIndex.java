@@ -0,0 +1,93 @@
+package space.jayampatel.otelier.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted in-memory index of one hotel's guests for typeahead search.
+ *
+ * Each guest is filed under its email and every word of the name it booked this hotel
+ * under (lowercased), so
+ * "smi" finds "John Smith" and "smith.j@example.com". A prefix lookup is a range scan
+ * of the sorted map that stops after limit guests. Adding a guest again (e.g. after a
+ * rename) replaces its previous terms. Safe for concurrent adds and reads.
+ */
+public final class GuestIndex {
+
+    // term + '\0' + guest ID, so one guest can be filed under several terms
+    private final ConcurrentSkipListMap<String, Guest> entries = new ConcurrentSkipListMap<>();
+
+    // guest ID -> keys it is filed under, to unfile terms it no longer has
+    private final ConcurrentHashMap<String, Set<String>> keysByGuest = new ConcurrentHashMap<>();
+
+    private final String hotelId;
+
+    public GuestIndex(String hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public void add(Guest guest) {
+        Set<String> keys = new HashSet<>();
+        if (guest.getEmail() != null) {
+            keys.add(guest.getEmail() + '\0' + guest.getId());
+        }
+        String name = guest.getName(hotelId);
+        if (name != null) {
+            for (String word : name.toLowerCase(Locale.ROOT).split("\\s+")) {
+                if (!word.isEmpty()) {
+                    keys.add(word + '\0' + guest.getId());
+                }
+            }
+        }
+
+        // One update per guest at a time; new terms go in before old ones go, so the guest
+        // never drops out of a search it still matches
+        keysByGuest.compute(guest.getId(), (id, previous) -> {
+            for (String key : keys) {
+                entries.put(key, guest);
+            }
+            if (previous != null) {
+                for (String key : previous) {
+                    if (!keys.contains(key)) {
+                        entries.remove(key);
+                    }
+                }
+            }
+            return keys;
+        });
+    }
+
+    /**
+     * Up to limit distinct guests with a name word or email starting with the prefix
+     */
+    public List<Guest> search(String prefix, int limit) {
+        String term = prefix.trim().toLowerCase(Locale.ROOT);
+        if (term.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> seen = new HashSet<>();
+        List<Guest> matches = new ArrayList<>();
+        NavigableMap<String, Guest> range = entries.subMap(term, true, term + Character.MAX_VALUE, false);
+        for (Map.Entry<String, Guest> entry : range.entrySet()) {
+            if (seen.add(entry.getValue().getId())) {
+                matches.add(entry.getValue());
+                if (matches.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
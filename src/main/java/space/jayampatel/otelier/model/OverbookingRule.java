@@ -0,0 +1,87 @@
+package space.jayampatel.otelier.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDate;
+
+/**
+ * How far a hotel may sell past physical capacity, e.g. 10% of deluxe-king rooms
+ * over Christmas week. Room type and dates are optional; a rule without them
+ * applies to every type and night.
+ */
+@Document(collection = "overbooking_rules")
+public class OverbookingRule {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String hotelId;
+
+    private String roomType;
+
+    private LocalDate startDate; // inclusive
+
+    private LocalDate endDate; // inclusive
+
+    private int percent; // of the room type's physical rooms
+
+    private Integer maxRooms; // optional cap on the percentage
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getHotelId() {
+        return hotelId;
+    }
+
+    public void setHotelId(String hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public int getPercent() {
+        return percent;
+    }
+
+    public void setPercent(int percent) {
+        this.percent = percent;
+    }
+
+    public Integer getMaxRooms() {
+        return maxRooms;
+    }
+
+    public void setMaxRooms(Integer maxRooms) {
+        this.maxRooms = maxRooms;
+    }
+}
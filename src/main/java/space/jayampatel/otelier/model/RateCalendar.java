@@ -0,0 +1,81 @@
+package space.jayampatel.otelier.model;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hotel's rate plans compiled into one nightly rate array per room type over a
+ * fixed window of epoch days, so a stay quote is an array sum. Nights outside the
+ * window fall back to evaluating the plan's rules. Immutable once built.
+ */
+public final class RateCalendar {
+
+    private static final String ALL_TYPES = "";
+
+    private final int firstDay;
+    private final int days;
+    private final Map<String, Rates> ratesByType = new HashMap<>();
+
+    public RateCalendar(List<RatePlan> plans, int firstDay, int days) {
+        this.firstDay = firstDay;
+        this.days = days;
+
+        for (RatePlan plan : plans) {
+            long[] nightly = new long[days];
+            for (int bit = 0; bit < days; bit++) {
+                nightly[bit] = plan.rateFor(LocalDate.ofEpochDay(firstDay + bit));
+            }
+            ratesByType.put(key(plan.getRoomType()), new Rates(plan, nightly));
+        }
+    }
+
+    public boolean isEmpty() {
+        return ratesByType.isEmpty();
+    }
+
+    /**
+     * Whether the room type (or the hotel-wide plan) has a rate
+     */
+    public boolean hasRate(String roomType) {
+        return rates(roomType) != null;
+    }
+
+    public String currency(String roomType) {
+        Rates rates = rates(roomType);
+        return rates == null ? null : rates.plan().getCurrency();
+    }
+
+    /**
+     * Rate for each night in [checkInDay, checkOutDay), or null if the room type has no plan
+     */
+    public long[] nightlyRates(String roomType, int checkInDay, int checkOutDay) {
+        Rates rates = rates(roomType);
+        if (rates == null) {
+            return null;
+        }
+
+        long[] nightly = new long[Math.max(checkOutDay - checkInDay, 0)];
+        for (int day = checkInDay; day < checkOutDay; day++) {
+            int bit = day - firstDay;
+            nightly[day - checkInDay] = bit >= 0 && bit < days
+                    ? rates.nightly()[bit]
+                    : rates.plan().rateFor(LocalDate.ofEpochDay(day));
+        }
+        return nightly;
+    }
+
+    // The room type's own plan, else the hotel-wide one
+    private Rates rates(String roomType) {
+        Rates rates = roomType == null ? null : ratesByType.get(roomType);
+        return rates != null ? rates : ratesByType.get(ALL_TYPES);
+    }
+
+    private static String key(String roomType) {
+        return roomType == null || roomType.isBlank() ? ALL_TYPES : roomType;
+    }
+
+    private record Rates(RatePlan plan, long[] nightly) {
+    }
+}
@@ -0,0 +1,93 @@
+package space.jayampatel.otelier.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A hotel's nightly rate for one room type (or every type, when roomType is empty):
+ * a base rate plus rules applied in order. Amounts are in minor units (cents).
+ */
+@Document(collection = "rate_plans")
+public class RatePlan {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String hotelId;
+
+    private String roomType;
+
+    private String currency;
+
+    private long baseRate;
+
+    private List<RateRule> rules = new ArrayList<>();
+
+    /**
+     * Rate for one night; every matching rule is applied in list order
+     */
+    public long rateFor(LocalDate night) {
+        long rate = baseRate;
+        if (rules != null) {
+            for (RateRule rule : rules) {
+                if (rule.matches(night)) {
+                    rate = rule.apply(rate);
+                }
+            }
+        }
+        return rate;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getHotelId() {
+        return hotelId;
+    }
+
+    public void setHotelId(String hotelId) {
+        this.hotelId = hotelId;
+    }
+
+    public String getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(String roomType) {
+        this.roomType = roomType;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public void setCurrency(String currency) {
+        this.currency = currency;
+    }
+
+    public long getBaseRate() {
+        return baseRate;
+    }
+
+    public void setBaseRate(long baseRate) {
+        this.baseRate = baseRate;
+    }
+
+    public List<RateRule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<RateRule> rules) {
+        this.rules = rules;
+    }
+}
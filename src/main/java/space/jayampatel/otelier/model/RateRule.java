@@ -0,0 +1,77 @@
+package space.jayampatel.otelier.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * A seasonal and/or day-of-week adjustment inside a {@link RatePlan}, e.g. weekends
+ * in August +20%, or a flat 25000 on New Year's Eve. Dates and days are optional.
+ */
+public class RateRule {
+
+    private LocalDate startDate; // inclusive
+
+    private LocalDate endDate; // inclusive
+
+    private Set<DayOfWeek> daysOfWeek; // empty or null means every day
+
+    private Long rate; // replaces the nightly rate (minor units)
+
+    private int percent; // then adjusts it, e.g. 20 or -15
+
+    public boolean matches(LocalDate night) {
+        if (startDate != null && night.isBefore(startDate)) {
+            return false;
+        }
+        if (endDate != null && night.isAfter(endDate)) {
+            return false;
+        }
+        return daysOfWeek == null || daysOfWeek.isEmpty() || daysOfWeek.contains(night.getDayOfWeek());
+    }
+
+    public long apply(long nightlyRate) {
+        long adjusted = rate != null ? rate : nightlyRate;
+        return adjusted + adjusted * percent / 100;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Set<DayOfWeek> getDaysOfWeek() {
+        return daysOfWeek;
+    }
+
+    public void setDaysOfWeek(Set<DayOfWeek> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek;
+    }
+
+    public Long getRate() {
+        return rate;
+    }
+
+    public void setRate(Long rate) {
+        this.rate = rate;
+    }
+
+    public int getPercent() {
+        return percent;
+    }
+
+    public void setPercent(int percent) {
+        this.percent = percent;
+    }
+}
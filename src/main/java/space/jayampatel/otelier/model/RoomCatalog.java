@@ -0,0 +1,124 @@
+package space.jayampatel.otelier.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A hotel's rooms with dense int IDs (0..size-1), so in-memory availability and
+ * occupancy structures can index plain arrays by room. Room types get dense IDs
+ * too, with each type's rooms listed in an int array. Room numbers and type names
+ * are hashed once at the edge. Immutable; rebuilt when rooms change.
+ */
+public final class RoomCatalog {
+
+    private final String hotelId;
+    private final String[] roomNumbers;
+    private final int[] roomTypeIds;
+    private final Map<String, Integer> idsByNumber;
+
+    private final String[] typeNames;
+    private final int[][] roomsByType;
+    private final Map<String, Integer> typeIdsByName;
+
+    public RoomCatalog(String hotelId, List<Room> rooms) {
+        this.hotelId = hotelId;
+        this.roomNumbers = new String[rooms.size()];
+        this.roomTypeIds = new int[rooms.size()];
+        this.idsByNumber = new HashMap<>(rooms.size() * 2);
+        this.typeIdsByName = new HashMap<>();
+
+        List<String> names = new ArrayList<>();
+        int[] typeSizes = new int[rooms.size()];
+
+        for (int id = 0; id < rooms.size(); id++) {
+            Room room = rooms.get(id);
+            roomNumbers[id] = room.getRoomNumber();
+            idsByNumber.put(room.getRoomNumber(), id);
+
+            // Untyped rooms can be booked by number only
+            if (room.getRoomType() == null || room.getRoomType().isBlank()) {
+                roomTypeIds[id] = -1;
+                continue;
+            }
+
+            Integer typeId = typeIdsByName.get(room.getRoomType());
+            if (typeId == null) {
+                typeId = names.size();
+                names.add(room.getRoomType());
+                typeIdsByName.put(room.getRoomType(), typeId);
+            }
+            roomTypeIds[id] = typeId;
+            typeSizes[typeId]++;
+        }
+
+        this.typeNames = names.toArray(new String[0]);
+        this.roomsByType = new int[typeNames.length][];
+        for (int typeId = 0; typeId < typeNames.length; typeId++) {
+            roomsByType[typeId] = new int[typeSizes[typeId]];
+        }
+
+        int[] filled = new int[typeNames.length];
+        for (int id = 0; id < roomNumbers.length; id++) {
+            int typeId = roomTypeIds[id];
+            if (typeId >= 0) {
+                roomsByType[typeId][filled[typeId]++] = id;
+            }
+        }
+    }
+
+    public String getHotelId() {
+        return hotelId;
+    }
+
+    public int size() {
+        return roomNumbers.length;
+    }
+
+    public boolean isEmpty() {
+        return roomNumbers.length == 0;
+    }
+
+    /**
+     * Dense ID for a room number, or -1 if the hotel has no such room
+     */
+    public int idOf(String roomNumber) {
+        Integer id = roomNumber == null ? null : idsByNumber.get(roomNumber);
+        return id == null ? -1 : id;
+    }
+
+    public String roomNumber(int id) {
+        return roomNumbers[id];
+    }
+
+    /**
+     * Type ID of a room, or -1 if the room has no type
+     */
+    public int roomTypeId(int id) {
+        return roomTypeIds[id];
+    }
+
+    public int typeCount() {
+        return typeNames.length;
+    }
+
+    /**
+     * Dense ID for a room type name, or -1 if the hotel has no rooms of that type
+     */
+    public int typeIdOf(String roomType) {
+        Integer typeId = roomType == null ? null : typeIdsByName.get(roomType);
+        return typeId == null ? -1 : typeId;
+    }
+
+    public String typeName(int typeId) {
+        return typeNames[typeId];
+    }
+
+    /**
+     * Room IDs of a type, in catalogue order. Shared, do not modify.
+     */
+    public int[] roomsOfType(int typeId) {
+        return roomsByType[typeId];
+    }
+}
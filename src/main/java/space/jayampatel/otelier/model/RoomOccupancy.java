@@ -0,0 +1,280 @@
+package space.jayampatel.otelier.model;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Booked nights per room over a fixed window of epoch days, one bit per room-night,
+ * plus a per-type, per-night inventory counter.
+ *
+ * Rows are indexed by {@link RoomCatalog} room ID, so a hotel with 500 rooms and a
+ * 400-night window is about 25K longs. Claiming or releasing a room takes that room's
+ * lock stripe; readers need no lock. A type counter holds the type's booked rooms
+ * plus in-flight reservations for that night, so a sold-out night is rejected with
+ * one read, and a reservation is a CAS increment. Overbooked stays hold counter units
+ * without setting any room bits. Days outside the window are not tracked.
+ */
+public final class RoomOccupancy {
+
+    // allocate() result: inventory reserved under the overbooking allowance, no room assigned
+    public static final int UNASSIGNED = -2;
+
+    private static final int LOCK_STRIPES = 64; // power of two
+
+    private final RoomCatalog catalog;
+    private final int firstDay;
+    private final int days;
+    private final int wordsPerRoom;
+    private final AtomicLongArray nights;
+    private final AtomicIntegerArray typeNights;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public RoomOccupancy(RoomCatalog catalog, int firstDay, int days) {
+        this.catalog = catalog;
+        this.firstDay = firstDay;
+        this.days = days;
+        this.wordsPerRoom = (days + 63) >>> 6;
+        this.nights = new AtomicLongArray(catalog.size() * wordsPerRoom);
+        this.typeNights = new AtomicIntegerArray(catalog.typeCount() * days);
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public static int epochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    public int getFirstDay() {
+        return firstDay;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Mark nights [checkInDay, checkOutDay) as booked (clipped to the window).
+     * Idempotent, so a stay already claimed in memory can be applied again.
+     */
+    public void book(int roomId, int checkInDay, int checkOutDay) {
+        synchronized (lock(roomId)) {
+            setBits(roomId, checkInDay, checkOutDay, true);
+        }
+    }
+
+    /**
+     * Book a room for [checkInDay, checkOutDay) unless it conflicts with a booked stay
+     */
+    public boolean tryBook(int roomId, int checkInDay, int checkOutDay) {
+        synchronized (lock(roomId)) {
+            if (conflicts(roomId, checkInDay, checkOutDay)) {
+                return false;
+            }
+            setBits(roomId, checkInDay, checkOutDay, true);
+            return true;
+        }
+    }
+
+    /**
+     * Undo a successful {@link #tryBook} or {@link #allocate}
+     */
+    public void release(int roomId, int checkInDay, int checkOutDay) {
+        synchronized (lock(roomId)) {
+            int typeId = catalog.roomTypeId(roomId);
+            forEachWord(checkInDay, checkOutDay, (word, mask) -> {
+                long previous = nights.getAndAccumulate(roomId * wordsPerRoom + word, ~mask, (current, m) -> current & m);
+                if (typeId >= 0) {
+                    countBits(typeId, word, previous & mask, -1);
+                }
+            });
+        }
+    }
+
+    /**
+     * Allocate any room of a type for [checkInDay, checkOutDay): reserve one unit of the
+     * type's inventory on every night, then claim the first room that is free for the
+     * whole stay. A night's capacity is the type's physical rooms plus that night's
+     * overbooking allowance.
+     *
+     * Returns the room ID; {@link #UNASSIGNED} when no single room is free but the
+     * allowance covers the stay (the reservation stands, without a room); or -1 when a
+     * night is sold out or no room is free and there is no allowance.
+     */
+    public int allocate(int typeId, int checkInDay, int checkOutDay, int[] allowance) {
+        if (!reserve(typeId, checkInDay, checkOutDay, allowance)) {
+            return -1;
+        }
+
+        for (int roomId : catalog.roomsOfType(typeId)) {
+            synchronized (lock(roomId)) {
+                if (!conflicts(roomId, checkInDay, checkOutDay)) {
+                    // The reservation already counted these nights
+                    setBits(roomId, checkInDay, checkOutDay, false);
+                    return roomId;
+                }
+            }
+        }
+
+        for (int extra : allowance) {
+            if (extra > 0) {
+                return UNASSIGNED;
+            }
+        }
+
+        unreserve(typeId, checkInDay, checkOutDay);
+        return -1;
+    }
+
+    /**
+     * Count a stay that holds type inventory without a room (an overbooked booking), clipped to the window
+     */
+    public void addUnassigned(int typeId, int checkInDay, int checkOutDay) {
+        int from = Math.max(checkInDay - firstDay, 0);
+        int to = Math.min(checkOutDay - firstDay, days);
+        adjust(typeId, from, to, 1);
+    }
+
+    /**
+     * Undo an {@link #UNASSIGNED} allocation
+     */
+    public void unreserve(int typeId, int checkInDay, int checkOutDay) {
+        adjust(typeId, checkInDay - firstDay, checkOutDay - firstDay, -1);
+    }
+
+    /**
+     * Whether any night in [fromDay, toDay] (inclusive) is booked for the room.
+     * Days outside the window count as not booked.
+     */
+    public boolean isBooked(int roomId, int fromDay, int toDay) {
+        int from = Math.max(fromDay - firstDay, 0);
+        int to = Math.min(toDay - firstDay + 1, days);
+
+        int base = roomId * wordsPerRoom;
+        for (int bit = from; bit < to; ) {
+            int word = bit >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            if ((nights.get(base + word) & mask(bit, end)) != 0) {
+                return true;
+            }
+            bit = end;
+        }
+        return false;
+    }
+
+    /**
+     * Whether a stay overlaps an existing booking of the room under the conflict rule:
+     * stays touching on the boundary day also collide
+     */
+    public boolean conflicts(int roomId, int checkInDay, int checkOutDay) {
+        // An existing stay [in, out) overlaps inclusively iff it has a night in [checkIn - 1, checkOut]
+        return isBooked(roomId, checkInDay - 1, checkOutDay);
+    }
+
+    /**
+     * Booked room count for each night in [fromDay, toDay)
+     */
+    public int[] bookedRooms(int fromDay, int toDay) {
+        int[] counts = new int[Math.max(toDay - fromDay, 0)];
+
+        for (int day = fromDay; day < toDay; day++) {
+            int bit = day - firstDay;
+            if (bit < 0 || bit >= days) {
+                continue;
+            }
+            int word = bit >>> 6;
+            long mask = 1L << (bit & 63);
+            int count = 0;
+            for (int room = 0; room < catalog.size(); room++) {
+                if ((nights.get(room * wordsPerRoom + word) & mask) != 0) {
+                    count++;
+                }
+            }
+            counts[day - fromDay] = count;
+        }
+
+        return counts;
+    }
+
+    public boolean covers(int day) {
+        return day >= firstDay && day < firstDay + days;
+    }
+
+    // CAS-increment every night of the stay, backing out if any night is at capacity
+    private boolean reserve(int typeId, int checkInDay, int checkOutDay, int[] allowance) {
+        int physical = catalog.roomsOfType(typeId).length;
+        int from = checkInDay - firstDay;
+        int to = checkOutDay - firstDay;
+
+        for (int bit = from; bit < to; bit++) {
+            int index = typeId * days + bit;
+            int capacity = physical + allowance[bit - from];
+            int current;
+            do {
+                current = typeNights.get(index);
+                if (current >= capacity) {
+                    adjust(typeId, from, bit, -1);
+                    return false;
+                }
+            } while (!typeNights.compareAndSet(index, current, current + 1));
+        }
+        return true;
+    }
+
+    private void adjust(int typeId, int fromBit, int toBit, int delta) {
+        for (int bit = fromBit; bit < toBit; bit++) {
+            typeNights.addAndGet(typeId * days + bit, delta);
+        }
+    }
+
+    // Caller holds the room's lock
+    private void setBits(int roomId, int checkInDay, int checkOutDay, boolean count) {
+        int typeId = count ? catalog.roomTypeId(roomId) : -1;
+        forEachWord(checkInDay, checkOutDay, (word, mask) -> {
+            long previous = nights.getAndAccumulate(roomId * wordsPerRoom + word, mask, (current, m) -> current | m);
+            if (typeId >= 0) {
+                countBits(typeId, word, mask & ~previous, 1);
+            }
+        });
+    }
+
+    // Apply delta to the type counter of every night whose bit is set in 'changed'
+    private void countBits(int typeId, int word, long changed, int delta) {
+        while (changed != 0) {
+            int bit = (word << 6) + Long.numberOfTrailingZeros(changed);
+            typeNights.addAndGet(typeId * days + bit, delta);
+            changed &= changed - 1;
+        }
+    }
+
+    // Visit the window-clipped nights [checkInDay, checkOutDay) one word at a time
+    private void forEachWord(int checkInDay, int checkOutDay, WordVisitor visitor) {
+        int from = Math.max(checkInDay - firstDay, 0);
+        int to = Math.min(checkOutDay - firstDay, days);
+
+        for (int bit = from; bit < to; ) {
+            int word = bit >>> 6;
+            int end = Math.min(to, (word + 1) << 6);
+            visitor.visit(word, mask(bit, end));
+            bit = end;
+        }
+    }
+
+    private Object lock(int roomId) {
+        return locks[roomId & (LOCK_STRIPES - 1)];
+    }
+
+    // Bits [from, to) of the word containing 'from'; to - from is 1..64
+    private static long mask(int from, int to) {
+        int width = to - from;
+        long bits = width == 64 ? -1L : (1L << width) - 1;
+        return bits << (from & 63);
+    }
+
+    @FunctionalInterface
+    private interface WordVisitor {
+        void visit(int word, long mask);
+    }
+}
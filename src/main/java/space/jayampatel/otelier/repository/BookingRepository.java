@@ -2,30 +2,24 @@ package space.jayampatel.otelier.repository;
 
 import space.jayampatel.otelier.model.Booking;
 import org.springframework.data.mongodb.repository.MongoRepository;
-import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface BookingRepository extends MongoRepository<Booking, String> {
+public interface BookingRepository extends MongoRepository<Booking, String>, BookingRepositoryCustom {
     
-    // Find all bookings for a specific hotel
-    List<Booking> findByHotelId(String hotelId);
+    // Arrivals / departures for a single day (front desk manifest)
+    List<Booking> findByHotelIdAndStatusAndCheckInDate(String hotelId, String status, LocalDate checkInDate);
     
-    // Find bookings by hotel and date range
-    List<Booking> findByHotelIdAndCheckInDateGreaterThanEqualAndCheckOutDateLessThanEqual(
-        String hotelId, LocalDate startDate, LocalDate endDate
+    List<Booking> findByHotelIdAndStatusAndCheckOutDate(String hotelId, String status, LocalDate checkOutDate);
+    
+    // Confirmed bookings overlapping a date window (bulk import conflict detection)
+    List<Booking> findByHotelIdAndStatusAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual(
+        String hotelId, String status, LocalDate windowEnd, LocalDate windowStart
     );
     
-    // Check for conflicting bookings (same room, overlapping dates)
-    @Query("{ 'hotelId': ?0, 'roomNumber': ?1, 'status': 'CONFIRMED', " +
-           "$or: [ " +
-           "  { 'checkInDate': { $lte: ?3 }, 'checkOutDate': { $gte: ?2 } }, " +
-           "  { 'checkInDate': { $gte: ?2, $lte: ?3 } }, " +
-           "  { 'checkOutDate': { $gte: ?2, $lte: ?3 } } " +
-           "] }")
-    List<Booking> findConflictingBookings(String hotelId, String roomNumber, 
-                                          LocalDate checkInDate, LocalDate checkOutDate);
+    // A guest's stays at a hotel (guest history)
+    List<Booking> findByHotelIdAndGuestIdOrderByCheckInDateDesc(String hotelId, String guestId);
 }
@@ -0,0 +1,35 @@
+package space.jayampatel.otelier.repository;
+
+import space.jayampatel.otelier.model.Booking;
+import com.mongodb.ReadPreference;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Booking queries that need explicit read preference / read concern control
+ */
+public interface BookingRepositoryCustom {
+
+    // Stream bookings for listing, ordered by check-in, from the given read preference.
+    // Archived bookings are only included when explicitly asked for.
+    Stream<Booking> streamForListing(Collection<String> hotelIds, LocalDate startDate, LocalDate endDate,
+                                     ReadPreference readPreference, boolean includeArchived);
+
+    // Stream a hotel's bookings in id order for export, resuming after the given id (checkpoint)
+    Stream<Booking> streamForExport(String hotelId, String afterId, int batchSize,
+                                    ReadPreference readPreference, boolean includeArchived);
+
+    // Insert bookings with one unordered bulk write; returns the failed positions and their errors
+    Map<Integer, String> insertUnordered(List<Booking> bookings);
+
+    // Move one batch of bookings checked out before the cutoff to the archive collection
+    int archiveCheckedOutBefore(LocalDate cutoff, int batchSize);
+
+    // Check for conflicting bookings (same room, overlapping dates) on the primary with majority read concern
+    List<Booking> findConflictingBookings(String hotelId, String roomNumber,
+                                          LocalDate checkInDate, LocalDate checkOutDate);
+}
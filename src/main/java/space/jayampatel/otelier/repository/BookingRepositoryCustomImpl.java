@@ -0,0 +1,193 @@
+package space.jayampatel.otelier.repository;
+
+import space.jayampatel.otelier.model.Booking;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.bulk.BulkWriteError;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private static final Comparator<Booking> BY_CHECK_IN = Comparator.comparing(
+            Booking::getCheckInDate, Comparator.nullsFirst(Comparator.<LocalDate>naturalOrder()));
+
+    // ObjectId hex strings sort the same way as the ObjectIds themselves
+    private static final Comparator<Booking> BY_ID = Comparator.comparing(Booking::getId);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Override
+    public Stream<Booking> streamForListing(Collection<String> hotelIds, LocalDate startDate, LocalDate endDate,
+                                            ReadPreference readPreference, boolean includeArchived) {
+        Criteria criteria = hotelIds.size() == 1
+                ? Criteria.where("hotelId").is(hotelIds.iterator().next())
+                : Criteria.where("hotelId").in(hotelIds);
+
+        if (startDate != null && endDate != null) {
+            criteria = criteria.and("checkInDate").gte(startDate)
+                    .and("checkOutDate").lte(endDate);
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by("checkInDate"))
+                .withReadPreference(readPreference);
+
+        // Listing responses never expose userId/createdBy, so they are not fetched
+        query.fields().exclude("userId", "createdBy");
+
+        Stream<Booking> hot = mongoTemplate.stream(query, Booking.class);
+        if (!includeArchived) {
+            return hot;
+        }
+
+        Stream<Booking> archived = mongoTemplate.stream(query, Booking.class, Booking.ARCHIVE_COLLECTION);
+        return merge(archived, hot, BY_CHECK_IN);
+    }
+
+    @Override
+    public Stream<Booking> streamForExport(String hotelId, String afterId, int batchSize,
+                                           ReadPreference readPreference, boolean includeArchived) {
+        Criteria criteria = Criteria.where("hotelId").is(hotelId);
+        if (afterId != null) {
+            criteria = criteria.and("id").gt(afterId);
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by("id"))
+                .cursorBatchSize(batchSize)
+                .withReadPreference(readPreference);
+
+        Stream<Booking> hot = mongoTemplate.stream(query, Booking.class);
+        if (!includeArchived) {
+            return hot;
+        }
+
+        Stream<Booking> archived = mongoTemplate.stream(query, Booking.class, Booking.ARCHIVE_COLLECTION);
+        return merge(archived, hot, BY_ID);
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<Booking> bookings) {
+        Map<Integer, String> failures = new HashMap<>();
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Booking.class)
+                    .insert(bookings)
+                    .execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                failures.put(error.getIndex(), error.getMessage());
+            }
+        }
+
+        return failures;
+    }
+
+    @Override
+    public int archiveCheckedOutBefore(LocalDate cutoff, int batchSize) {
+        Query query = new Query(Criteria.where("checkOutDate").lt(cutoff)).limit(batchSize);
+        List<Booking> batch = mongoTemplate.find(query, Booking.class);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Upsert by id so a batch interrupted between copy and delete can simply be re-run
+        BulkOperations bulk = mongoTemplate.bulkOps(
+                BulkOperations.BulkMode.UNORDERED, Booking.class, Booking.ARCHIVE_COLLECTION);
+        List<String> ids = new ArrayList<>(batch.size());
+        for (Booking booking : batch) {
+            bulk.replaceOne(new Query(Criteria.where("_id").is(booking.getId())), booking,
+                    FindAndReplaceOptions.options().upsert());
+            ids.add(booking.getId());
+        }
+        bulk.execute();
+
+        mongoTemplate.remove(new Query(Criteria.where("_id").in(ids)), Booking.class);
+        return batch.size();
+    }
+
+    @Override
+    public List<Booking> findConflictingBookings(String hotelId, String roomNumber,
+                                                 LocalDate checkInDate, LocalDate checkOutDate) {
+        // Any confirmed stay that starts on/before our check-out and ends on/after our check-in overlaps
+        Query query = new Query(Criteria.where("hotelId").is(hotelId)
+                .and("roomNumber").is(roomNumber)
+                .and("status").is("CONFIRMED")
+                .and("checkInDate").lte(checkOutDate)
+                .and("checkOutDate").gte(checkInDate))
+                .withReadPreference(ReadPreference.primary())
+                .withReadConcern(ReadConcern.MAJORITY);
+
+        return mongoTemplate.find(query, Booking.class);
+    }
+
+    // Merge two streams already sorted by the comparator into one sorted stream
+    private static Stream<Booking> merge(Stream<Booking> first, Stream<Booking> second,
+                                         Comparator<Booking> comparator) {
+        Iterator<Booking> firstIterator = first.iterator();
+        Iterator<Booking> secondIterator = second.iterator();
+
+        Iterator<Booking> merged = new Iterator<>() {
+            private Booking firstHead = advance(firstIterator);
+            private Booking secondHead = advance(secondIterator);
+
+            @Override
+            public boolean hasNext() {
+                return firstHead != null || secondHead != null;
+            }
+
+            @Override
+            public Booking next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                Booking result;
+                if (secondHead == null || (firstHead != null && comparator.compare(firstHead, secondHead) <= 0)) {
+                    result = firstHead;
+                    firstHead = advance(firstIterator);
+                } else {
+                    result = secondHead;
+                    secondHead = advance(secondIterator);
+                }
+                return result;
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        first.close();
+                    } finally {
+                        second.close();
+                    }
+                });
+    }
+
+    private static Booking advance(Iterator<Booking> iterator) {
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
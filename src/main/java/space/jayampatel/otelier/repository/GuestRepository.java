@@ -0,0 +1,21 @@
+package space.jayampatel.otelier.repository;
+
+import space.jayampatel.otelier.model.Guest;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GuestRepository extends MongoRepository<Guest, String> {
+
+    // Guests who have booked a hotel (hotelIds is an array)
+    @Query(value = "{ 'hotelIds': ?0 }", fields = "{ 'email': 1, 'names': 1 }")
+    List<Guest> findByHotel(String hotelId);
+
+    Guest findByEmail(String email);
+
+    List<Guest> findByEmailIn(Collection<String> emails);
+}
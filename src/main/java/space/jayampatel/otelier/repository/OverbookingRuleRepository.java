@@ -0,0 +1,13 @@
+package space.jayampatel.otelier.repository;
+
+import space.jayampatel.otelier.model.OverbookingRule;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OverbookingRuleRepository extends MongoRepository<OverbookingRule, String> {
+
+    List<OverbookingRule> findByHotelId(String hotelId);
+
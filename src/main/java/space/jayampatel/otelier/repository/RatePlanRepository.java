@@ -0,0 +1,13 @@
+package space.jayampatel.otelier.repository;
+
+import space.jayampatel.otelier.model.RatePlan;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RatePlanRepository extends MongoRepository<RatePlan, String> {
+
+    List<RatePlan> findByHotelId(String hotelId);
+
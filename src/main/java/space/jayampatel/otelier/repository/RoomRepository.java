@@ -0,0 +1,15 @@
+package space.jayampatel.otelier.repository;
+
+import space.jayampatel.otelier.model.Room;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RoomRepository extends MongoRepository<Room, String> {
+
+    List<Room> findByHotelId(String hotelId);
+
+    boolean existsByHotelIdAndRoomNumber(String hotelId, String roomNumber);
+}
@@ -1,6 +1,7 @@
 package space.jayampatel.otelier.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,20 +22,34 @@ public class JwtUtil {
     @Value("${jwt.issuer}")
     private String issuer;
 
+    // Built once; the parser is immutable and thread-safe
+    private volatile JwtParser parser;
+
     /**
      * Parse and validate JWT token
      */
     public Claims validateToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-
-        return Jwts.parser()
-                .verifyWith(key)
-                .requireIssuer(issuer)
-                .build()
+        return getParser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
+    private JwtParser getParser() {
+        JwtParser current = parser;
+        if (current == null) {
+            current = Jwts.parser()
+                    .verifyWith(getSigningKey())
+                    .requireIssuer(issuer)
+                    .build();
+            parser = current;
+        }
+        return current;
+    }
+
+    private SecretKey getSigningKey() {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
     /**
      * Extract user ID from token
      */
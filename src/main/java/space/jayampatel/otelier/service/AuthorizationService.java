@@ -1,17 +1,37 @@
 package space.jayampatel.otelier.service;
 
+import space.jayampatel.otelier.audit.AuditLog;
+import space.jayampatel.otelier.cache.CacheInvalidationBus;
+import space.jayampatel.otelier.cache.InvalidationListener;
+import space.jayampatel.otelier.cache.LocalCache;
+import space.jayampatel.otelier.model.AuditEvent;
 import space.jayampatel.otelier.model.HotelAssignment;
 import space.jayampatel.otelier.repository.HotelAssignmentRepository;
 import space.jayampatel.otelier.security.AuthenticationContext;
 import space.jayampatel.otelier.exception.UnauthorizedException;
-import space.jayampatel.otelier.repository.HotelRepository;
 
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class AuthorizationService {
@@ -19,7 +39,7 @@ public class AuthorizationService {
     private static final Logger logger = LoggerFactory.getLogger(AuthorizationService.class);
 
     @Autowired
-    private HotelRepository hotelRepository;
+    private HotelService hotelService;
 
     @Autowired
     private HotelAssignmentRepository assignmentRepository;
@@ -27,15 +47,61 @@ public class AuthorizationService {
     @Autowired
     private AuthenticationContext authContext;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Value("${cache.assignments.max-size:50000}")
+    private long maxSize;
+
+    @Value("${cache.assignments.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    // A user's assignments, read on every request that touches a hotel
+    private LocalCache<String, List<HotelAssignment>> assignmentsByUser;
+
+    @PostConstruct
+    public void init() {
+        assignmentsByUser = new LocalCache<>("hotel-assignments", maxSize, Duration.ofSeconds(ttlSeconds),
+                meterRegistry);
+
+        invalidationBus.subscribe("hotel_assignments", new InvalidationListener() {
+            @Override
+            public void onChange(ChangeStreamDocument<Document> change) {
+                // Inserts carry the document; for anything else we only know the _id
+                Document assignment = change.getFullDocument();
+                if (change.getOperationType() == OperationType.INSERT && assignment != null
+                        && assignment.getString("userId") != null) {
+                    assignmentsByUser.invalidate(assignment.getString("userId"));
+                } else {
+                    assignmentsByUser.invalidateAll();
+                }
+            }
+
+            @Override
+            public void onReset() {
+                assignmentsByUser.invalidateAll();
+            }
+        });
+    }
+
     /**
      * Check if user has access to hotel
      */
     public void checkHotelAccess(String hotelId) {
         String userId = authContext.getCurrentUserId();
 
-        if (!assignmentRepository.existsByUserIdAndHotelId(userId, hotelId)) {
+        if (findAssignment(userId, hotelId) == null) {
             logger.warn("User {} attempted to access hotel {} without assignment", userId, hotelId);
-            throw new UnauthorizedException("You don't have access to this hotel");
+            throw UnauthorizedException.NO_HOTEL_ACCESS;
         }
     }
 
@@ -43,10 +109,18 @@ public class AuthorizationService {
      * Check if user has specific role for hotel
      */
     public void checkHotelRole(String hotelId, String... allowedRoles) {
+        Observation.createNotStarted("booking.authorize", observationRegistry)
+                .highCardinalityKeyValue("hotel.id", hotelId)
+                .observe(() -> requireHotelRole(hotelId, allowedRoles));
+    }
+
+    private void requireHotelRole(String hotelId, String... allowedRoles) {
         String userId = authContext.getCurrentUserId();
 
-        HotelAssignment assignment = assignmentRepository.findByUserIdAndHotelId(userId, hotelId)
-                .orElseThrow(() -> new UnauthorizedException("You don't have access to this hotel"));
+        HotelAssignment assignment = findAssignment(userId, hotelId);
+        if (assignment == null) {
+            throw UnauthorizedException.NO_HOTEL_ACCESS;
+        }
 
         for (String role : allowedRoles) {
             if (role.equalsIgnoreCase(assignment.getRole())) {
@@ -59,22 +133,47 @@ public class AuthorizationService {
                         ". Your role: " + assignment.getRole());
     }
 
+    /**
+     * Resolve hotel access for a multi-hotel request with a single assignment lookup.
+     * An empty request means every hotel the user is assigned to.
+     */
+    public Set<String> resolveHotelAccess(Collection<String> hotelIds) {
+        String userId = authContext.getCurrentUserId();
+
+        Set<String> assignedHotelIds = getUserHotels(userId).stream()
+                .map(HotelAssignment::getHotelId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (hotelIds == null || hotelIds.isEmpty()) {
+            return assignedHotelIds;
+        }
+
+        for (String hotelId : hotelIds) {
+            if (!assignedHotelIds.contains(hotelId)) {
+                logger.warn("User {} attempted to access hotel {} without assignment", userId, hotelId);
+                throw new UnauthorizedException("You don't have access to hotel " + hotelId);
+            }
+        }
+
+        return new LinkedHashSet<>(hotelIds);
+    }
+
     /**
      * Get user's assigned hotels
      */
     public List<HotelAssignment> getUserHotels(String userId) {
-        return assignmentRepository.findByUserId(userId);
+        return assignmentsByUser.get(userId, id -> List.copyOf(assignmentRepository.findByUserId(id)));
     }
 
     /**
      * Assign user to hotel
      */
     public HotelAssignment assignUserToHotel(String userId, String hotelId, String role) {
-        if (assignmentRepository.existsByUserIdAndHotelId(userId, hotelId)) {
+        if (findAssignment(userId, hotelId) != null) {
             throw new IllegalArgumentException("User already assigned to this hotel");
         }
 
-        if (!hotelRepository.existsById(hotelId)) {
+        if (!hotelService.exists(hotelId)) {
             throw new IllegalArgumentException("Hotel does not exist");
         }
 
@@ -84,6 +183,20 @@ public class AuthorizationService {
         assignment.setRole(role);
         assignment.setAssignedBy(authContext.getCurrentUserId());
 
-        return assignmentRepository.save(assignment);
+        HotelAssignment saved = assignmentRepository.save(assignment);
+        assignmentsByUser.invalidate(userId);
+
+        auditLog.record(AuditEvent.USER_ASSIGNED, hotelId, saved.getId(), saved.getAssignedBy(),
+                "user " + userId + " as " + role);
+        return saved;
+    }
+
+    private HotelAssignment findAssignment(String userId, String hotelId) {
+        for (HotelAssignment assignment : getUserHotels(userId)) {
+            if (hotelId.equals(assignment.getHotelId())) {
+                return assignment;
+            }
+        }
+        return null;
     }
 }
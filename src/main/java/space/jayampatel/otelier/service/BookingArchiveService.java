@@ -0,0 +1,115 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.model.Booking;
+import space.jayampatel.otelier.repository.BookingRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Moves long-past stays out of the hot bookings collection.
+ *
+ * Bookings whose check-out is older than the configured horizon are copied to the
+ * archive collection and removed from the hot one, in batches. Listings read only
+ * the hot collection unless the caller asks for historical data. Every replica schedules
+ * the job, but only the one that takes the lease document in job_leases runs it.
+ */
+@Service
+public class BookingArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingArchiveService.class);
+
+    private static final String LEASE_COLLECTION = "job_leases";
+    private static final String LEASE_ID = "booking-archive";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${archive.horizon-days:365}")
+    private int horizonDays;
+
+    @Value("${archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${archive.zone:UTC}")
+    private String zone;
+
+    // Longer than a run takes; a crashed holder's lease lapses after this
+    @Value("${archive.lease-minutes:60}")
+    private long leaseMinutes;
+
+    private final String owner = UUID.randomUUID().toString();
+
+    /**
+     * Archive bookings checked out before the horizon, one batch at a time
+     */
+    @Scheduled(cron = "${archive.cron:0 30 3 * * *}", zone = "${archive.zone:UTC}")
+    public void archivePastBookings() {
+        if (!enabled) {
+            return;
+        }
+        if (!acquireLease()) {
+            logger.info("Skipping archival: another node holds the lease");
+            return;
+        }
+
+        ensureArchiveIndexes();
+
+        LocalDate cutoff = LocalDate.now(ZoneId.of(zone)).minusDays(horizonDays);
+        int total = 0;
+        int moved;
+
+        do {
+            moved = bookingRepository.archiveCheckedOutBefore(cutoff, batchSize);
+            total += moved;
+        } while (moved == batchSize);
+
+        logger.info("Archived {} bookings checked out before {}", total, cutoff);
+    }
+
+    // Takes the lease if it is free or expired; the insert of a held lease hits the _id index.
+    // It is left to expire rather than released, so replicas whose cron fires late skip this run.
+    private boolean acquireLease() {
+        Instant now = Instant.now();
+        Query free = new Query(Criteria.where("_id").is(LEASE_ID).and("expiresAt").lt(now));
+        Update take = new Update()
+                .set("owner", owner)
+                .set("expiresAt", now.plus(Duration.ofMinutes(leaseMinutes)));
+        try {
+            mongoTemplate.upsert(free, take, LEASE_COLLECTION);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private void ensureArchiveIndexes() {
+        mongoTemplate.indexOps(Booking.ARCHIVE_COLLECTION).ensureIndex(new Index()
+                .on("hotelId", Sort.Direction.ASC)
+                .on("checkInDate", Sort.Direction.ASC)
+                .named("hotel_checkin_idx"));
+    }
+}
@@ -0,0 +1,216 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.cache.CacheInvalidationBus;
+import space.jayampatel.otelier.cache.InvalidationListener;
+import space.jayampatel.otelier.cache.LocalCache;
+import space.jayampatel.otelier.dto.BookingEvent;
+import space.jayampatel.otelier.model.Booking;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-hotel broadcast hub for booking change events.
+ *
+ * Each subscriber gets a bounded buffer. Publishing never blocks the booking
+ * write path: events are queued and drained on a virtual thread, and a
+ * subscriber whose buffer is full is evicted instead of slowing everyone down.
+ * Idle subscribers hold no thread, only an async servlet response.
+ *
+ * Bookings created on other nodes arrive through the bookings change stream, so a
+ * subscriber sees every hotel booking whichever replica it is connected to. A local
+ * write is published straight away and its change-stream echo is skipped, so each
+ * event goes out once per node (and local writes still stream without a replica set).
+ */
+@Service
+public class BookingEventHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingEventHub.class);
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${booking.stream.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${booking.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    // type + booking ID of events already published on this node
+    private LocalCache<String, Boolean> published;
+
+    @PostConstruct
+    public void init() {
+        published = new LocalCache<>("booking-stream-published", 100_000, Duration.ofMinutes(5), meterRegistry);
+
+        invalidationBus.subscribe("bookings", new InvalidationListener() {
+            @Override
+            public void onChange(ChangeStreamDocument<Document> change) {
+                // Skip the conversion when nobody here follows the hotel
+                Document document = change.getFullDocument();
+                String hotelId = document == null ? null : document.getString("hotelId");
+                if (change.getOperationType() != OperationType.INSERT || hotelId == null
+                        || !subscribers.containsKey(hotelId)) {
+                    return;
+                }
+                Booking booking = mongoTemplate.getConverter().read(Booking.class, document);
+                publish(new BookingEvent(BookingEvent.CREATED, booking));
+            }
+
+            @Override
+            public void onReset() {
+                // Missed bookings are not replayed; clients reload the listing on reconnect
+            }
+        });
+    }
+
+    /**
+     * Register a new subscriber for a hotel's booking events
+     */
+    public SseEmitter subscribe(String hotelId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(hotelId, emitter, bufferSize);
+
+        subscribers.compute(hotelId, (id, hotelSubscribers) -> {
+            if (hotelSubscribers == null) {
+                hotelSubscribers = ConcurrentHashMap.newKeySet();
+            }
+            hotelSubscribers.add(subscriber);
+            return hotelSubscribers;
+        });
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> {
+            remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> remove(subscriber));
+
+        logger.debug("Booking stream subscriber added for hotel: {}", hotelId);
+        return emitter;
+    }
+
+    /**
+     * Fan an event out to every subscriber of the event's hotel, once per node
+     */
+    public void publish(BookingEvent event) {
+        Set<Subscriber> hotelSubscribers = subscribers.get(event.getHotelId());
+        if (hotelSubscribers == null) {
+            return;
+        }
+        String bookingId = event.getBooking().getId();
+        if (bookingId != null && !published.putIfAbsent(event.getType() + ':' + bookingId, Boolean.TRUE)) {
+            return;
+        }
+
+        for (Subscriber subscriber : hotelSubscribers) {
+            if (subscriber.buffer.offer(event)) {
+                schedule(subscriber);
+            } else {
+                logger.warn("Evicting slow booking stream subscriber for hotel: {}", subscriber.hotelId);
+                remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    /**
+     * Number of open subscriptions for a hotel
+     */
+    public int getSubscriberCount(String hotelId) {
+        Set<Subscriber> hotelSubscribers = subscribers.get(hotelId);
+        return hotelSubscribers == null ? 0 : hotelSubscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(hotelSubscribers ->
+                hotelSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        dispatcher.shutdown();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            BookingEvent event;
+            while ((event = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .name(event.getType())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        } catch (Exception e) {
+            // Client went away; the emitter callbacks may not fire until the next write
+            logger.debug("Booking stream send failed for hotel {}: {}", subscriber.hotelId, e.getMessage());
+            remove(subscriber);
+            subscriber.draining.set(false);
+            return;
+        }
+
+        subscriber.draining.set(false);
+
+        // An event may have been queued after the last poll but before the flag was cleared
+        if (!subscriber.buffer.isEmpty()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.hotelId, (id, hotelSubscribers) -> {
+            hotelSubscribers.remove(subscriber);
+            return hotelSubscribers.isEmpty() ? null : hotelSubscribers;
+        });
+    }
+
+    private static final class Subscriber {
+        private final String hotelId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<BookingEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean(false);
+
+        private Subscriber(String hotelId, SseEmitter emitter, int bufferSize) {
+            this.hotelId = hotelId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
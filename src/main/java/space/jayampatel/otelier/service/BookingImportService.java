@@ -0,0 +1,501 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.audit.AuditLog;
+import space.jayampatel.otelier.dto.BookingEvent;
+import space.jayampatel.otelier.dto.BookingImportReport;
+import space.jayampatel.otelier.dto.BookingImportReport.RowResult;
+import space.jayampatel.otelier.dto.CreateBookingRequest;
+import space.jayampatel.otelier.exception.InvalidRoomException;
+import space.jayampatel.otelier.model.AuditEvent;
+import space.jayampatel.otelier.model.Booking;
+import space.jayampatel.otelier.model.RoomOccupancy;
+import space.jayampatel.otelier.repository.BookingRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Bulk booking import from channel-manager CSV / NDJSON dumps.
+ *
+ * The file is streamed in chunks of booking.import.chunk-size rows, so memory is bounded
+ * by the chunk rather than the file. Each chunk's rows are validated with the same rules
+ * as a single create, then conflicts are resolved in memory per room: the chunk's rows
+ * and the hotel's existing confirmed bookings over the same window (including rows of
+ * earlier chunks, already written) are sorted by check-in and swept once. Accepted rows
+ * are written with unordered bulk inserts, split across a writer pool shared by all imports.
+ */
+@Service
+public class BookingImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingImportService.class);
+
+    private static final String CONFIRMED = "CONFIRMED";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ManifestService manifestService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingListCache bookingListCache;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private GuestService guestService;
+
+    @Autowired
+    private BookingEventHub bookingEventHub;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${booking.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${booking.import.parallelism:4}")
+    private int parallelism;
+
+    private ObjectReader requestReader;
+
+    // Bounds bulk-insert concurrency across all imports, not per request
+    private ExecutorService writers;
+
+    @PostConstruct
+    public void init() {
+        requestReader = objectMapper.readerFor(CreateBookingRequest.class);
+        writers = Executors.newFixedThreadPool(parallelism,
+                Thread.ofPlatform().name("booking-import-", 0).daemon(true).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdown();
+    }
+
+    /**
+     * Import bookings for a hotel from a CSV (with header row) or NDJSON stream
+     */
+    public BookingImportReport importBookings(String hotelId, InputStream input, boolean csv, String userId)
+            throws IOException {
+
+        logger.info("Importing bookings for hotel: {}", hotelId);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        RowReader rows = csv ? new CsvRowReader(reader) : new NdjsonRowReader(reader);
+        BookingImportReport report = new BookingImportReport();
+
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        ImportRow row;
+        while ((row = rows.next()) != null) {
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                importChunk(hotelId, chunk, userId, report);
+                chunk.clear();
+            }
+        }
+        importChunk(hotelId, chunk, userId, report);
+
+        logger.info("Import finished for hotel: {}, imported: {}, rejected: {}",
+                hotelId, report.getImported(), report.getRejected());
+        return report;
+    }
+
+    private void importChunk(String hotelId, List<ImportRow> rows, String userId, BookingImportReport report) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // Same rules as a single create: bean validation, then stay dates
+        List<ImportRow> candidates = new ArrayList<>();
+        for (ImportRow row : rows) {
+            if (row.result == null) {
+                validate(hotelId, row);
+            }
+            if (row.result == null) {
+                candidates.add(row);
+            }
+        }
+
+        resolveConflicts(hotelId, candidates);
+
+        List<ImportRow> accepted = new ArrayList<>();
+        for (ImportRow row : candidates) {
+            if (row.result == null) {
+                row.booking = bookingService.newBooking(hotelId, row.request, userId);
+                row.booking.setId(new ObjectId().toHexString()); // known up front for the report
+                accepted.add(row);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            guestService.resolveAll(accepted.stream().map(row -> row.booking).toList());
+            write(accepted);
+            guestService.linkAll(hotelId, accepted.stream()
+                    .filter(row -> BookingImportReport.IMPORTED.equals(row.result.getStatus()))
+                    .map(row -> row.booking)
+                    .toList());
+            bookingListCache.invalidateHotel(hotelId);
+        }
+
+        for (ImportRow row : rows) {
+            report.add(row.result);
+            if (BookingImportReport.IMPORTED.equals(row.result.getStatus())) {
+                // Same live side effects as a single create, minus guest notifications
+                manifestService.onBookingCreated(row.booking);
+                roomService.onBookingCreated(row.booking);
+                bookingEventHub.publish(new BookingEvent(BookingEvent.CREATED, row.booking));
+                auditLog.record(AuditEvent.BOOKING_IMPORTED, hotelId, row.booking.getId(), userId,
+                        "room " + row.booking.getRoomNumber() + ", " + row.booking.getCheckInDate()
+                                + " to " + row.booking.getCheckOutDate());
+            }
+        }
+    }
+
+    private void validate(String hotelId, ImportRow row) {
+        Set<ConstraintViolation<CreateBookingRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            List<String> messages = new ArrayList<>();
+            for (ConstraintViolation<CreateBookingRequest> violation : violations) {
+                messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+            row.result = new RowResult(row.line, BookingImportReport.INVALID, null, String.join("; ", messages));
+            return;
+        }
+
+        // The per-room conflict sweep needs concrete rooms
+        if (row.request.isRoomTypeBooking()) {
+            row.result = new RowResult(row.line, BookingImportReport.INVALID, null,
+                    "roomNumber: is required for import");
+            return;
+        }
+
+        try {
+            bookingService.validateStay(row.request);
+            roomService.checkRoom(hotelId, row.request.getRoomNumber());
+        } catch (IllegalArgumentException | InvalidRoomException e) {
+            row.result = new RowResult(row.line, BookingImportReport.INVALID, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Mark rows that overlap an existing booking or an earlier-accepted row for the same room
+     */
+    private void resolveConflicts(String hotelId, List<ImportRow> candidates) {
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        LocalDate windowStart = candidates.get(0).request.getCheckInDate();
+        LocalDate windowEnd = candidates.get(0).request.getCheckOutDate();
+        Map<String, List<Stay>> staysByRoom = new HashMap<>();
+
+        for (ImportRow row : candidates) {
+            CreateBookingRequest request = row.request;
+            if (request.getCheckInDate().isBefore(windowStart)) {
+                windowStart = request.getCheckInDate();
+            }
+            if (request.getCheckOutDate().isAfter(windowEnd)) {
+                windowEnd = request.getCheckOutDate();
+            }
+            staysByRoom.computeIfAbsent(request.getRoomNumber(), room -> new ArrayList<>())
+                    .add(new Stay(RoomOccupancy.epochDay(request.getCheckInDate()),
+                            RoomOccupancy.epochDay(request.getCheckOutDate()), row));
+        }
+
+        // One query for every existing booking that could collide with the file
+        List<Booking> existing = bookingRepository
+                .findByHotelIdAndStatusAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual(
+                        hotelId, CONFIRMED, windowEnd, windowStart);
+        for (Booking booking : existing) {
+            List<Stay> stays = staysByRoom.get(booking.getRoomNumber());
+            if (stays != null && booking.getCheckInDate() != null && booking.getCheckOutDate() != null) {
+                stays.add(new Stay(RoomOccupancy.epochDay(booking.getCheckInDate()),
+                        RoomOccupancy.epochDay(booking.getCheckOutDate()), null));
+            }
+        }
+
+        for (List<Stay> stays : staysByRoom.values()) {
+            sweep(stays);
+        }
+    }
+
+    /**
+     * Sweep one room's stays in check-in order. Existing bookings always win; overlap is
+     * inclusive of the boundary day, matching the single-create conflict query.
+     */
+    static void sweep(List<Stay> stays) {
+        // Existing bookings sort ahead of file rows that start the same day
+        stays.sort(Comparator.comparingInt((Stay stay) -> stay.checkIn)
+                .thenComparing(stay -> stay.row != null));
+
+        int existingCheckOut = Integer.MIN_VALUE; // none yet
+        Stay lastAccepted = null;
+
+        for (Stay stay : stays) {
+            if (stay.row == null) {
+                // A later existing booking can only collide with the most recently accepted row
+                if (lastAccepted != null && stay.checkIn <= lastAccepted.checkOut) {
+                    markConflict(lastAccepted.row);
+                    lastAccepted = null;
+                }
+                existingCheckOut = Math.max(existingCheckOut, stay.checkOut);
+                continue;
+            }
+
+            boolean overlapsExisting = stay.checkIn <= existingCheckOut;
+            boolean overlapsAccepted = lastAccepted != null && stay.checkIn <= lastAccepted.checkOut;
+
+            if (overlapsExisting || overlapsAccepted) {
+                markConflict(stay.row);
+            } else {
+                lastAccepted = stay;
+            }
+        }
+    }
+
+    private static void markConflict(ImportRow row) {
+        row.result = new RowResult(row.line, BookingImportReport.CONFLICT, null,
+                String.format("Room %s is already booked for the selected dates", row.request.getRoomNumber()));
+    }
+
+    /**
+     * Write a chunk's accepted rows as parallel unordered bulk inserts on the shared writers
+     */
+    private void write(List<ImportRow> accepted) {
+        int batchSize = Math.max(1, (accepted.size() + parallelism - 1) / parallelism);
+
+        List<List<ImportRow>> batches = new ArrayList<>();
+        for (int start = 0; start < accepted.size(); start += batchSize) {
+            batches.add(accepted.subList(start, Math.min(start + batchSize, accepted.size())));
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (List<ImportRow> batch : batches) {
+            futures.add(writers.submit(() -> writeBatch(batch)));
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                markFailed(batches.get(i), "Import interrupted");
+            } catch (ExecutionException e) {
+                logger.error("Bulk insert batch failed: {}", e.getCause().getMessage());
+                markFailed(batches.get(i), e.getCause().getMessage());
+            }
+        }
+    }
+
+    private void writeBatch(List<ImportRow> batch) {
+        List<Booking> bookings = new ArrayList<>(batch.size());
+        for (ImportRow row : batch) {
+            bookings.add(row.booking);
+        }
+
+        Map<Integer, String> failures = bookingRepository.insertUnordered(bookings);
+
+        for (int i = 0; i < batch.size(); i++) {
+            ImportRow row = batch.get(i);
+            String failure = failures.get(i);
+            row.result = failure != null
+                    ? new RowResult(row.line, BookingImportReport.FAILED, null, failure)
+                    : new RowResult(row.line, BookingImportReport.IMPORTED, row.booking.getId(), null);
+        }
+    }
+
+    private void markFailed(List<ImportRow> batch, String message) {
+        for (ImportRow row : batch) {
+            if (row.result == null) {
+                row.result = new RowResult(row.line, BookingImportReport.FAILED, null, message);
+            }
+        }
+    }
+
+    /**
+     * Reads one row at a time; null at the end of the file. Blank lines are skipped.
+     */
+    private interface RowReader {
+        ImportRow next() throws IOException;
+    }
+
+    private final class NdjsonRowReader implements RowReader {
+        private final BufferedReader reader;
+        private int lineNumber;
+
+        private NdjsonRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                ImportRow row = new ImportRow(lineNumber);
+                try {
+                    row.request = requestReader.readValue(line);
+                    if (row.request == null) {
+                        // A literal "null" line parses without error
+                        row.result = new RowResult(lineNumber, BookingImportReport.INVALID, null,
+                                "Row must be a JSON object");
+                    }
+                } catch (IOException e) {
+                    row.result = new RowResult(lineNumber, BookingImportReport.INVALID, null, "Malformed JSON row");
+                }
+                return row;
+            }
+            return null;
+        }
+    }
+
+    // Header row names the columns; fields may be quoted but not span lines
+    private static final class CsvRowReader implements RowReader {
+        private final BufferedReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private int lineNumber;
+
+        private CsvRowReader(BufferedReader reader) throws IOException {
+            this.reader = reader;
+
+            String headerLine = reader.readLine();
+            if (headerLine != null) {
+                lineNumber++;
+                List<String> header = splitCsvLine(headerLine);
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim(), i);
+                }
+            }
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                ImportRow row = new ImportRow(lineNumber);
+                try {
+                    List<String> fields = splitCsvLine(line);
+                    CreateBookingRequest request = new CreateBookingRequest();
+                    request.setGuestName(column(fields, columns, "guestName"));
+                    request.setGuestEmail(column(fields, columns, "guestEmail"));
+                    request.setRoomNumber(column(fields, columns, "roomNumber"));
+                    String checkIn = column(fields, columns, "checkInDate");
+                    String checkOut = column(fields, columns, "checkOutDate");
+                    request.setCheckInDate(checkIn == null ? null : LocalDate.parse(checkIn));
+                    request.setCheckOutDate(checkOut == null ? null : LocalDate.parse(checkOut));
+                    row.request = request;
+                } catch (RuntimeException e) {
+                    row.result = new RowResult(lineNumber, BookingImportReport.INVALID, null,
+                            "Malformed CSV row: " + e.getMessage());
+                }
+                return row;
+            }
+            return null;
+        }
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+
+        return fields;
+    }
+
+    static final class ImportRow {
+        private final int line;
+        CreateBookingRequest request;
+        private Booking booking;
+        RowResult result;
+
+        ImportRow(int line) {
+            this.line = line;
+        }
+    }
+
+    // A row from the file (row != null) or an existing booking (row == null)
+    // Dates as epoch days, so the sweep compares ints
+    record Stay(int checkIn, int checkOut, ImportRow row) {
+    }
+}
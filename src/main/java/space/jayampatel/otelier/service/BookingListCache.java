@@ -0,0 +1,155 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.cache.CacheInvalidationBus;
+import space.jayampatel.otelier.cache.InvalidationListener;
+import space.jayampatel.otelier.cache.LocalCache;
+import space.jayampatel.otelier.model.Booking;
+import space.jayampatel.otelier.repository.BookingRepository;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * L1 cache of single-hotel booking listings.
+ *
+ * A miss goes through the {@link BookingReadRouter} with the time the hotel's listings
+ * were last invalidated: within the staleness window it reads the primary, so a reloaded
+ * entry is never older than the write that invalidated the previous one, and otherwise
+ * a secondary. Generation counters catch a load that straddles an invalidation. Listings above max-rows are not cached and keep
+ * streaming from Mongo.
+ */
+@Service
+public class BookingListCache {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private BookingReadRouter bookingReadRouter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cache.booking-lists.max-size:2000}")
+    private long maxSize;
+
+    @Value("${cache.booking-lists.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${cache.booking-lists.max-rows:2000}")
+    private int maxRows;
+
+    private LocalCache<ListKey, List<Booking>> lists;
+
+    // Listings known to be too large to cache, so they are not loaded twice
+    private LocalCache<ListKey, Boolean> oversized;
+
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+
+    // Epoch ms of the last invalidation, per hotel and for all hotels
+    private final Map<String, Long> invalidatedAt = new ConcurrentHashMap<>();
+    private volatile long allInvalidatedAt;
+
+    @PostConstruct
+    public void init() {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        lists = new LocalCache<>("booking-lists", maxSize, ttl, meterRegistry);
+        oversized = new LocalCache<>("booking-lists-oversized", maxSize, ttl, meterRegistry);
+
+        invalidationBus.subscribe("bookings", new InvalidationListener() {
+            @Override
+            public void onChange(ChangeStreamDocument<Document> change) {
+                // Inserts carry the hotel; deletes (archiving) only carry the _id
+                Document booking = change.getFullDocument();
+                if (change.getOperationType() == OperationType.INSERT && booking != null
+                        && booking.getString("hotelId") != null) {
+                    invalidateHotel(booking.getString("hotelId"));
+                } else {
+                    invalidateAll();
+                }
+            }
+
+            @Override
+            public void onReset() {
+                invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * A hotel's listing from the cache (loading it on a miss), or null when it is too
+     * large to cache and should be streamed instead
+     */
+    public List<Booking> get(String hotelId, LocalDate startDate, LocalDate endDate, boolean includeArchived) {
+        ListKey key = new ListKey(hotelId, startDate, endDate, includeArchived);
+
+        List<Booking> cached = lists.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (oversized.getIfPresent(key) != null) {
+            return null;
+        }
+
+        long generation = generation(hotelId);
+        long lastChange = Math.max(invalidatedAt.getOrDefault(hotelId, 0L), allInvalidatedAt);
+
+        List<Booking> bookings;
+        try (Stream<Booking> stream = bookingRepository.streamForListing(List.of(hotelId), startDate, endDate,
+                bookingReadRouter.forListing(lastChange > 0 ? lastChange : null), includeArchived)) {
+            bookings = stream.limit(maxRows + 1L).toList();
+        }
+
+        if (bookings.size() > maxRows) {
+            oversized.put(key, Boolean.TRUE);
+            return null;
+        }
+
+        // Drop the result again if a write for this hotel landed while it was loading
+        lists.put(key, bookings);
+        if (generation(hotelId) != generation) {
+            lists.invalidate(key);
+        }
+        return bookings;
+    }
+
+    public void invalidateHotel(String hotelId) {
+        invalidatedAt.put(hotelId, System.currentTimeMillis());
+        generations.merge(hotelId, 1L, Long::sum);
+        lists.invalidateIf(key -> key.hotelId().equals(hotelId));
+    }
+
+    public void invalidateAll() {
+        allInvalidatedAt = System.currentTimeMillis();
+        globalGeneration.incrementAndGet();
+        lists.invalidateAll();
+    }
+
+    private long generation(String hotelId) {
+        return globalGeneration.get() + generations.getOrDefault(hotelId, 0L);
+    }
+
+    private record ListKey(String hotelId, LocalDate startDate, LocalDate endDate, boolean includeArchived) {
+    }
+}
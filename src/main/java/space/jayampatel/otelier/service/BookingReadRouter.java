@@ -0,0 +1,121 @@
+package space.jayampatel.otelier.service;
+
+import com.mongodb.ReadPreference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides where booking listing reads go.
+ *
+ * Listings go to secondaries within a staleness bound. A client that wrote a booking
+ * within that bound reads from the primary instead, so it always sees its own booking,
+ * whichever node serves the next request. The write time travels with the client as a
+ * short-lived cookie set on write responses; clients without a cookie jar (bearer-token
+ * API clients) can echo the same value back in the X-Last-Write header instead.
+ * Conflict checks and writes never go through here; they stay on the primary.
+ */
+@Service
+public class BookingReadRouter {
+
+    public static final String LAST_WRITE_COOKIE = "otelier_last_write";
+
+    public static final String LAST_WRITE_HEADER = "X-Last-Write";
+
+    // Tolerated clock difference between the node that wrote and the node that reads
+    private static final long CLOCK_SKEW_MS = 5_000;
+
+    @Value("${mongo.listing.read-preference:secondaryPreferred}")
+    private String listingReadPreferenceName;
+
+    // MongoDB requires at least 90 seconds when set
+    @Value("${mongo.listing.max-staleness-seconds:90}")
+    private long maxStalenessSeconds;
+
+    private ReadPreference listingReadPreference;
+
+    @PostConstruct
+    public void init() {
+        if ("primary".equalsIgnoreCase(listingReadPreferenceName)) {
+            listingReadPreference = ReadPreference.primary();
+        } else {
+            listingReadPreference = ReadPreference.valueOf(
+                    listingReadPreferenceName, List.of(), maxStalenessSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Headers to send with a write response, so the client's next listings read from the
+     * primary: the cookie for browsers, and the same value as X-Last-Write for clients
+     * that send it back themselves
+     */
+    public HttpHeaders writeHint() {
+        String now = Long.toString(System.currentTimeMillis());
+        ResponseCookie cookie = ResponseCookie.from(LAST_WRITE_COOKIE, now)
+                .path("/api")
+                .maxAge(Duration.ofSeconds(maxStalenessSeconds))
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.SET_COOKIE, cookie.toString());
+        headers.add(LAST_WRITE_HEADER, now);
+        return headers;
+    }
+
+    /**
+     * Client's last write time (epoch ms) from the X-Last-Write header or, failing that,
+     * the cookie. Malformed or future values are ignored (null), so the read is routed
+     * as if the client had not written.
+     */
+    public Long lastWrite(String header, String cookie) {
+        Long lastWriteMs = parse(header);
+        return lastWriteMs != null ? lastWriteMs : parse(cookie);
+    }
+
+    private static Long parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        long lastWriteMs;
+        try {
+            lastWriteMs = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return lastWriteMs > 0 && lastWriteMs <= System.currentTimeMillis() + CLOCK_SKEW_MS ? lastWriteMs : null;
+    }
+
+    /**
+     * Whether the client's last write (epoch ms from the cookie) is recent enough that a
+     * secondary might not have it yet
+     */
+    public boolean isRecentWrite(Long lastWriteMs) {
+        if (lastWriteMs == null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        return lastWriteMs <= now + CLOCK_SKEW_MS && now - lastWriteMs < stalenessWindowMs();
+    }
+
+    /**
+     * Read preference for a listing query from a client with the given last write time
+     */
+    public ReadPreference forListing(Long lastWriteMs) {
+        return isRecentWrite(lastWriteMs) ? ReadPreference.primary() : listingReadPreference;
+    }
+
+    private long stalenessWindowMs() {
+        return TimeUnit.SECONDS.toMillis(maxStalenessSeconds);
+    }
+}
@@ -1,23 +1,38 @@
 package space.jayampatel.otelier.service;
 
+import space.jayampatel.otelier.audit.AuditLog;
+import space.jayampatel.otelier.model.AuditEvent;
 import space.jayampatel.otelier.model.Booking;
 import space.jayampatel.otelier.repository.BookingRepository;
+import space.jayampatel.otelier.dto.BookingEvent;
 import space.jayampatel.otelier.dto.CreateBookingRequest;
+import space.jayampatel.otelier.dto.RateQuote;
 import space.jayampatel.otelier.exception.BookingConflictException;
+import space.jayampatel.otelier.limit.ConcurrencyLimitFilter;
+import space.jayampatel.otelier.logging.LogSampler;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class BookingService {
 
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
 
+    @Value("${booking.export.batch-size:500}")
+    private int exportBatchSize;
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -27,73 +42,258 @@ public class BookingService {
     @Autowired
     private EmailNotificationService emailNotificationService;
 
+    @Autowired
+    private BookingEventHub bookingEventHub;
+
+    @Autowired
+    private BookingReadRouter bookingReadRouter;
+
+    @Autowired
+    private ManifestService manifestService;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private BookingListCache bookingListCache;
+
+    @Autowired
+    private RateService rateService;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private GuestService guestService;
+
+    // Room-type bookings re-allocate when Mongo knows a booking memory missed
+    @Value("${rooms.allocation-attempts:3}")
+    private int allocationAttempts;
+
+    @Autowired
+    private LogSampler logSampler;
+
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     /**
-     * Get all bookings for a hotel, optionally filtered by date range
+     * Stream a hotel's bookings for listing responses: from the L1 listing cache when the
+     * listing is small enough, otherwise straight from the Mongo cursor. A client that
+     * wrote recently (lastWriteMs, from the read-your-writes cookie or header) reads from the primary.
+     * Archived (long checked-out) bookings are only read when includeArchived is set.
+     * The caller must close the returned stream.
      */
-    public List<Booking> getBookings(String hotelId, LocalDate startDate, LocalDate endDate) {
-        logger.info("Fetching bookings for hotel: {}, startDate: {}, endDate: {}",
-                hotelId, startDate, endDate);
-
-        if (startDate != null && endDate != null) {
-            return bookingRepository.findByHotelIdAndCheckInDateGreaterThanEqualAndCheckOutDateLessThanEqual(
+    public Stream<Booking> streamBookings(String hotelId, LocalDate startDate, LocalDate endDate, Long lastWriteMs,
+                                          boolean includeArchived) {
+        if (logSampler.sample()) {
+            logger.info("Streaming bookings for hotel: {}, startDate: {}, endDate: {}",
                     hotelId, startDate, endDate);
         }
 
-        return bookingRepository.findByHotelId(hotelId);
+        // The cache may predate this client's write if it was made on another node
+        if (!bookingReadRouter.isRecentWrite(lastWriteMs)) {
+            List<Booking> cached = bookingListCache.get(hotelId, startDate, endDate, includeArchived);
+            if (cached != null) {
+                // Served from memory: not a sample of Mongo latency
+                ConcurrencyLimitFilter.skipLatencySample();
+                return cached.stream();
+            }
+        }
+
+        return bookingRepository.streamForListing(
+                List.of(hotelId), startDate, endDate, bookingReadRouter.forListing(lastWriteMs), includeArchived);
     }
 
     /**
-     * Create a new booking with conflict detection
+     * Stream bookings for several hotels with a single $in query, ordered by check-in date.
+     * The caller must close the returned stream.
      */
-    public Booking createBooking(String hotelId, CreateBookingRequest request, String userId) {
-        logger.info("Creating booking for hotel: {}, room: {}, user: {}",
-                hotelId, request.getRoomNumber(), userId);
+    public Stream<Booking> streamBookings(Collection<String> hotelIds, LocalDate startDate, LocalDate endDate,
+                                          Long lastWriteMs, boolean includeArchived) {
+        if (logSampler.sample()) {
+            logger.info("Streaming bookings for {} hotels, startDate: {}, endDate: {}",
+                    hotelIds.size(), startDate, endDate);
+        }
+
+        if (hotelIds.isEmpty()) {
+            return Stream.empty();
+        }
 
+        return bookingRepository.streamForListing(
+                hotelIds, startDate, endDate, bookingReadRouter.forListing(lastWriteMs), includeArchived);
+    }
+
+    /**
+     * Stream a hotel's full booking history in id order for export, resuming after afterId.
+     * Reads use a bounded cursor batch size so memory stays flat regardless of row count.
+     * The caller must close the returned stream.
+     */
+    public Stream<Booking> streamForExport(String hotelId, String afterId, boolean includeArchived) {
+        logger.info("Exporting bookings for hotel: {}, after: {}", hotelId, afterId);
+
+        return bookingRepository.streamForExport(
+                hotelId, afterId, exportBatchSize, bookingReadRouter.forListing(null), includeArchived);
+    }
+
+    /**
+     * Validate stay dates (shared by single create and bulk import)
+     */
+    public void validateStay(CreateBookingRequest request) {
         // Validation: Check-out must be after check-in
         if (request.getCheckOutDate().isBefore(request.getCheckInDate()) ||
                 request.getCheckOutDate().isEqual(request.getCheckInDate())) {
             throw new IllegalArgumentException("Check-out date must be after check-in date");
         }
 
+        // Validation: Stay length is bounded (rates.max-nights)
+        rateService.checkStayLength(request.getCheckInDate(), request.getCheckOutDate());
+
         // Validation: Check-in must be in the future or today
         if (request.getCheckInDate().isBefore(LocalDate.now())) {
             throw new IllegalArgumentException("Check-in date cannot be in the past");
         }
+    }
 
-        // Conflict detection: Check if room is already booked
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                hotelId,
-                request.getRoomNumber(),
-                request.getCheckInDate(),
-                request.getCheckOutDate());
-
-        if (!conflicts.isEmpty()) {
-            logger.warn("Booking conflict detected for hotel: {}, room: {}",
-                    hotelId, request.getRoomNumber());
-            throw new BookingConflictException(
-                    String.format("Room %s is already booked for the selected dates",
-                            request.getRoomNumber()));
-        }
-
-        // Create booking
+    /**
+     * Build an unsaved, priced booking from a request
+     */
+    public Booking newBooking(String hotelId, CreateBookingRequest request, String userId) {
         Booking booking = new Booking();
         booking.setHotelId(hotelId);
         booking.setUserId(userId);
         booking.setGuestName(request.getGuestName());
         booking.setGuestEmail(request.getGuestEmail());
-        booking.setRoomNumber(request.getRoomNumber());
         booking.setCheckInDate(request.getCheckInDate());
         booking.setCheckOutDate(request.getCheckOutDate());
         booking.setCreatedBy(userId);
 
-        // Save to database
-        Booking savedBooking = bookingRepository.save(booking);
+        // The requested type, or the catalogued type of the requested room; a blank room
+        // number is stored as null, which marks a stay that still needs a room
+        String roomType = request.isRoomTypeBooking()
+                ? request.getRoomType()
+                : roomService.roomTypeOf(hotelId, request.getRoomNumber());
+        booking.setRoomNumber(request.isRoomTypeBooking() ? null : request.getRoomNumber());
+        booking.setRoomType(roomType);
+
+        // Unpriced if the hotel has no rates
+        RateQuote quote = rateService.quote(hotelId, roomType, request.getCheckInDate(), request.getCheckOutDate());
+        if (quote != null) {
+            booking.setTotalPrice(quote.getTotal());
+            booking.setCurrency(quote.getCurrency());
+        }
+        return booking;
+    }
+
+    /**
+     * Create a new booking with conflict detection
+     */
+    public Booking createBooking(String hotelId, CreateBookingRequest request, String userId) {
+        if (logSampler.sample()) {
+            logger.info("Creating booking for hotel: {}, room: {}, user: {}",
+                    hotelId, request.getRoomNumber(), userId);
+        }
+
+        validateStay(request);
+
+        // The guest profile's ID; the profile is only written once the booking is saved
+        String guestId = guestService.resolve(hotelId, request.getGuestEmail());
+
+        Booking savedBooking = null;
+        for (int attempt = 1; savedBooking == null; attempt++) {
+            savedBooking = tryCreate(hotelId, request, userId, guestId, attempt < allocationAttempts);
+        }
         logger.info("Booking created successfully: {}", savedBooking.getId());
 
+        // Find or create the guest profile (cached per hotel and guest after the first stay)
+        guestService.link(hotelId, savedBooking);
+
+        auditLog.record(AuditEvent.BOOKING_CREATED, hotelId, savedBooking.getId(), userId,
+                "room " + savedBooking.getRoomNumber() + ", " + savedBooking.getCheckInDate()
+                        + " to " + savedBooking.getCheckOutDate());
+
+        // Other nodes drop their copies when the change stream delivers the insert
+        bookingListCache.invalidateHotel(hotelId);
+
+        // Keep in-memory front desk manifests and room occupancy current
+        manifestService.onBookingCreated(savedBooking);
+        roomService.onBookingCreated(savedBooking);
+
         // Send notification (async, won't block)
         notificationService.notifyBookingCreated(savedBooking);
         emailNotificationService.sendBookingCreatedEmail(savedBooking);
 
+        // Push to live booking streams (non-blocking)
+        bookingEventHub.publish(new BookingEvent(BookingEvent.CREATED, savedBooking));
+
         return savedBooking;
     }
+
+    /**
+     * Claim a room in memory, confirm with Mongo, save. Returns null when a room-type
+     * allocation picked a room Mongo says is taken and another attempt is allowed.
+     */
+    private Booking tryCreate(String hotelId, CreateBookingRequest request, String userId, String guestId,
+                              boolean canRetry) {
+        // The requested room, or one allocated from the room type's nightly inventory
+        RoomService.Claim claim = roomService.claim(hotelId, request.getRoomNumber(), request.getRoomType(),
+                request.getCheckInDate(), request.getCheckOutDate());
+        String roomNumber = claim != null ? claim.getRoomNumber() : request.getRoomNumber();
+
+        try {
+            // Overbooked: inventory is held without a room, so there is no room to conflict on
+            if (claim != null && claim.isUnassigned()) {
+                Booking booking = newBooking(hotelId, request, userId);
+                booking.setGuestId(guestId);
+                return stage("booking.save", hotelId)
+                        .observe(() -> bookingRepository.save(booking));
+            }
+
+            // Conflict detection: Check if room is already booked
+            List<Booking> conflicts = stage("booking.conflict-check", hotelId)
+                    .observe(() -> bookingRepository.findConflictingBookings(
+                            hotelId,
+                            roomNumber,
+                            request.getCheckInDate(),
+                            request.getCheckOutDate()));
+
+            if (!conflicts.isEmpty()) {
+                logger.warn("Booking conflict detected for hotel: {}, room: {}", hotelId, roomNumber);
+
+                // Memory missed these bookings; learn them so the next claim skips this room
+                roomService.release(claim);
+                claim = null;
+                conflicts.forEach(roomService::onBookingCreated);
+
+                if (request.isRoomTypeBooking() && canRetry) {
+                    return null;
+                }
+                throw roomConflict(roomNumber);
+            }
+
+            // Create booking
+            Booking booking = newBooking(hotelId, request, userId);
+            booking.setRoomNumber(roomNumber);
+            booking.setGuestId(guestId);
+
+            // Save to database
+            return stage("booking.save", hotelId)
+                    .observe(() -> bookingRepository.save(booking));
+        } catch (RuntimeException e) {
+            roomService.release(claim);
+            throw e;
+        }
+    }
+
+    private static BookingConflictException roomConflict(String roomNumber) {
+        return new BookingConflictException(
+                String.format("Room %s is already booked for the selected dates", roomNumber));
+    }
+
+    /**
+     * Span (and timer) around one stage of a booking request
+     */
+    private Observation stage(String name, String hotelId) {
+        return Observation.createNotStarted(name, observationRegistry)
+                .highCardinalityKeyValue("hotel.id", hotelId);
+    }
 }
@@ -2,6 +2,9 @@ package space.jayampatel.otelier.service;
 
 import space.jayampatel.otelier.model.Booking;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
@@ -20,6 +23,9 @@ public class EmailNotificationService {
     @Autowired
     private JavaMailSender mailSender;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     @Value("${notification.email.support}")
     private String supportEmail;
 
@@ -30,7 +36,9 @@ public class EmailNotificationService {
             message.setSubject("New Hotel Booking Created");
             message.setText(buildEmailBody(booking));
 
-            mailSender.send(message);
+            // SMTP round trip, as its own span in the booking trace
+            Observation.createNotStarted("notification.email", observationRegistry)
+                    .observe(() -> mailSender.send(message));
             logger.info("Booking email sent for booking {}", booking.getId());
         } catch (Exception e) {
             logger.error("Failed to send booking email", e);
@@ -53,7 +61,7 @@ public class EmailNotificationService {
                 booking.getHotelId(),
                 booking.getGuestName(),
                 booking.getGuestEmail(),
-                booking.getRoomNumber(),
+                booking.getRoomNumber() != null ? booking.getRoomNumber() : "to be assigned at check-in",
                 booking.getCheckInDate(),
                 booking.getCheckOutDate(),
                 booking.getStatus(),
@@ -0,0 +1,309 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.cache.CacheInvalidationBus;
+import space.jayampatel.otelier.cache.InvalidationListener;
+import space.jayampatel.otelier.cache.LocalCache;
+import space.jayampatel.otelier.dto.GuestSummary;
+import space.jayampatel.otelier.model.Booking;
+import space.jayampatel.otelier.model.Guest;
+import space.jayampatel.otelier.model.GuestIndex;
+import space.jayampatel.otelier.repository.BookingRepository;
+import space.jayampatel.otelier.repository.GuestRepository;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Guest profiles, deduplicated by normalized email.
+ *
+ * The guest ID is resolved (or a new one picked) before a booking is saved, and the
+ * guest is linked to the hotel with one upsert only after the save succeeds, skipped
+ * when this node has recently linked the same guest to the same hotel under the same
+ * name. Each hotel sees
+ * only the name its own bookings gave. Front desk typeahead reads a per-hotel
+ * {@link GuestIndex} built from the guests collection, kept current with local links
+ * and change-stream inserts, and rebuilt after guests.index-ttl-seconds.
+ */
+@Service
+public class GuestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GuestService.class);
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${guests.links.max-size:100000}")
+    private long linksMaxSize;
+
+    @Value("${guests.links.ttl-seconds:3600}")
+    private long linksTtlSeconds;
+
+    @Value("${guests.index-max-size:1000}")
+    private long indexMaxSize;
+
+    @Value("${guests.index-ttl-seconds:300}")
+    private long indexTtlSeconds;
+
+    // hotelId + '\n' + normalized email -> guest ID and name, for guests already linked to the hotel
+    private LocalCache<String, Link> links;
+
+    // Concurrent misses for a hotel share one build
+    private LocalCache<String, GuestIndex> indexes;
+
+    @PostConstruct
+    public void init() {
+        links = new LocalCache<>("guest-links", linksMaxSize, Duration.ofSeconds(linksTtlSeconds), meterRegistry);
+        indexes = new LocalCache<>("guest-indexes", indexMaxSize, Duration.ofSeconds(indexTtlSeconds), meterRegistry);
+
+        // New guests from other nodes; a known guest's first stay at a hotel shows up on rebuild
+        invalidationBus.subscribe("guests", new InvalidationListener() {
+            @Override
+            public void onChange(ChangeStreamDocument<Document> change) {
+                Document document = change.getFullDocument();
+                if (change.getOperationType() != OperationType.INSERT || document == null) {
+                    return;
+                }
+                Guest guest = mongoTemplate.getConverter().read(Guest.class, document);
+                for (String hotelId : guest.getHotelIds()) {
+                    GuestIndex index = indexes.getIfPresent(hotelId);
+                    if (index != null) {
+                        index.add(guest);
+                    }
+                }
+            }
+
+            @Override
+            public void onReset() {
+                indexes.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * The guest ID for an email: the existing guest's, or a new one that {@link #link}
+     * creates once the booking is saved. Null without an email.
+     */
+    public String resolve(String hotelId, String email) {
+        String normalized = Guest.normalizeEmail(email);
+        if (normalized == null || normalized.isEmpty()) {
+            return null;
+        }
+
+        Link link = links.getIfPresent(hotelId + '\n' + normalized);
+        if (link != null) {
+            return link.guestId();
+        }
+        Guest guest = guestRepository.findByEmail(normalized);
+        return guest != null ? guest.getId() : ObjectId.get().toHexString();
+    }
+
+    /**
+     * Set the guest ID of each booking of a bulk import with one read
+     */
+    public void resolveAll(List<Booking> bookings) {
+        Map<String, String> idsByEmail = new HashMap<>();
+        for (Booking booking : bookings) {
+            String email = Guest.normalizeEmail(booking.getGuestEmail());
+            if (email != null && !email.isEmpty()) {
+                idsByEmail.put(email, null);
+            }
+        }
+        for (Guest guest : guestRepository.findByEmailIn(idsByEmail.keySet())) {
+            idsByEmail.put(guest.getEmail(), guest.getId());
+        }
+
+        for (Booking booking : bookings) {
+            String email = Guest.normalizeEmail(booking.getGuestEmail());
+            if (email != null && !email.isEmpty()) {
+                booking.setGuestId(idsByEmail.computeIfAbsent(email, e -> ObjectId.get().toHexString()));
+            }
+        }
+    }
+
+    /**
+     * Record that a saved booking's guest stayed at the hotel, creating the guest under
+     * the resolved ID if needed. Failures are logged: the booking is already saved.
+     */
+    public void link(String hotelId, Booking booking) {
+        String email = Guest.normalizeEmail(booking.getGuestEmail());
+        if (booking.getGuestId() == null || email == null || email.isEmpty()) {
+            return;
+        }
+
+        // A new name for a linked guest still goes through, so Mongo and the index pick it up
+        String key = hotelId + '\n' + email;
+        Link linked = links.getIfPresent(key);
+        if (linked != null && Objects.equals(linked.name(), booking.getGuestName())) {
+            return;
+        }
+
+        try {
+            Guest guest;
+            try {
+                guest = upsert(hotelId, booking.getGuestId(), booking.getGuestName(), email);
+            } catch (DuplicateKeyException e) {
+                // Lost a race to insert the same email; the retry matches the winner
+                guest = upsert(hotelId, booking.getGuestId(), booking.getGuestName(), email);
+            }
+
+            if (!guest.getId().equals(booking.getGuestId())) {
+                relink(List.of(booking), guest.getId());
+            }
+
+            links.put(key, new Link(guest.getId(), booking.getGuestName()));
+            GuestIndex index = indexes.getIfPresent(hotelId);
+            if (index != null) {
+                index.add(guest);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to link booking {} to guest {}: {}",
+                    booking.getId(), booking.getGuestId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Link every saved booking of a bulk import to its guest with one bulk upsert and one read
+     */
+    public void linkAll(String hotelId, List<Booking> bookings) {
+        Map<String, Booking> firstByEmail = new LinkedHashMap<>();
+        for (Booking booking : bookings) {
+            String email = Guest.normalizeEmail(booking.getGuestEmail());
+            if (booking.getGuestId() != null && email != null && !email.isEmpty()) {
+                firstByEmail.putIfAbsent(email, booking);
+            }
+        }
+        if (firstByEmail.isEmpty()) {
+            return;
+        }
+
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Guest.class);
+            firstByEmail.forEach((email, booking) -> bulk.upsert(byEmail(email),
+                    linkUpdate(hotelId, booking.getGuestId(), booking.getGuestName())));
+            bulk.execute();
+
+            // Guests created concurrently elsewhere keep their own ID
+            Map<String, String> idsByEmail = new HashMap<>();
+            for (Guest guest : guestRepository.findByEmailIn(firstByEmail.keySet())) {
+                idsByEmail.put(guest.getEmail(), guest.getId());
+            }
+            Map<String, List<Booking>> moved = new HashMap<>();
+            for (Booking booking : bookings) {
+                String guestId = idsByEmail.get(Guest.normalizeEmail(booking.getGuestEmail()));
+                if (guestId != null && booking.getGuestId() != null && !guestId.equals(booking.getGuestId())) {
+                    moved.computeIfAbsent(guestId, id -> new ArrayList<>()).add(booking);
+                }
+            }
+            moved.forEach((guestId, stays) -> relink(stays, guestId));
+
+            logger.info("Linked {} guests for hotel {}", idsByEmail.size(), hotelId);
+        } catch (RuntimeException e) {
+            logger.error("Failed to link imported bookings to guests for hotel {}: {}", hotelId, e.getMessage());
+        }
+
+        // New hotel guests appear in typeahead on the next rebuild
+        indexes.invalidate(hotelId);
+    }
+
+    /**
+     * Typeahead: guests of the hotel with a name word or email starting with the prefix
+     */
+    public List<GuestSummary> search(String hotelId, String prefix, int limit) {
+        return index(hotelId).search(prefix, limit).stream()
+                .map(guest -> new GuestSummary(guest, hotelId))
+                .toList();
+    }
+
+    /**
+     * A guest's stays at a hotel, newest first
+     */
+    public List<Booking> getStays(String hotelId, String guestId) {
+        return bookingRepository.findByHotelIdAndGuestIdOrderByCheckInDateDesc(hotelId, guestId);
+    }
+
+    private GuestIndex index(String hotelId) {
+        return indexes.get(hotelId, this::build);
+    }
+
+    private GuestIndex build(String hotelId) {
+        GuestIndex index = new GuestIndex(hotelId);
+        for (Guest guest : guestRepository.findByHotel(hotelId)) {
+            index.add(guest);
+        }
+        logger.info("Built guest index for hotel {}: {} terms", hotelId, index.size());
+        return index;
+    }
+
+    private Guest upsert(String hotelId, String guestId, String name, String email) {
+        return mongoTemplate.findAndModify(byEmail(email), linkUpdate(hotelId, guestId, name),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Guest.class);
+    }
+
+    // Rare: another node created the guest first under its own ID
+    private void relink(List<Booking> bookings, String guestId) {
+        List<String> ids = bookings.stream().map(Booking::getId).toList();
+        mongoTemplate.updateMulti(new Query(Criteria.where("_id").in(ids)),
+                new Update().set("guestId", guestId), Booking.class);
+        bookings.forEach(booking -> booking.setGuestId(guestId));
+        logger.warn("Moved {} bookings to existing guest {}", ids.size(), guestId);
+    }
+
+    private record Link(String guestId, String name) {
+    }
+
+    private static Query byEmail(String email) {
+        return new Query(Criteria.where("email").is(email));
+    }
+
+    // The email comes from the query on insert; the name is only ever shown to this hotel
+    private static Update linkUpdate(String hotelId, String guestId, String name) {
+        Update update = new Update()
+                .setOnInsert("_id", new ObjectId(guestId))
+                .setOnInsert("createdAt", LocalDateTime.now())
+                .addToSet("hotelIds", hotelId);
+        if (name != null && !name.isBlank()) {
+            update.set("names." + hotelId, name);
+        }
+        return update;
+    }
+}
@@ -0,0 +1,87 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.cache.CacheInvalidationBus;
+import space.jayampatel.otelier.cache.InvalidationListener;
+import space.jayampatel.otelier.cache.LocalCache;
+import space.jayampatel.otelier.model.Hotel;
+import space.jayampatel.otelier.repository.HotelRepository;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Hotel lookups through the L1 cache, keyed by hotel ID. Unknown IDs are not cached,
+ * so a hotel created on another node is found before its entry would have expired.
+ */
+@Service
+public class HotelService {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${cache.hotels.max-size:10000}")
+    private long maxSize;
+
+    @Value("${cache.hotels.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private LocalCache<String, Hotel> hotels;
+
+    @PostConstruct
+    public void init() {
+        hotels = new LocalCache<>("hotels", maxSize, Duration.ofSeconds(ttlSeconds), meterRegistry);
+
+        // Keyed by _id, so every kind of change (including deletes) maps to one entry
+        invalidationBus.subscribe("hotels", new InvalidationListener() {
+            @Override
+            public void onChange(ChangeStreamDocument<Document> change) {
+                BsonValue id = change.getDocumentKey() == null ? null : change.getDocumentKey().get("_id");
+                if (id != null && id.isObjectId()) {
+                    hotels.invalidate(id.asObjectId().getValue().toHexString());
+                } else if (id != null && id.isString()) {
+                    hotels.invalidate(id.asString().getValue());
+                } else {
+                    hotels.invalidateAll();
+                }
+            }
+
+            @Override
+            public void onReset() {
+                hotels.invalidateAll();
+            }
+        });
+    }
+
+    public Optional<Hotel> getHotel(String hotelId) {
+        // A null load leaves no entry
+        return Optional.ofNullable(hotels.get(hotelId, id -> hotelRepository.findById(id).orElse(null)));
+    }
+
+    public boolean exists(String hotelId) {
+        return getHotel(hotelId).isPresent();
+    }
+
+    public Hotel createHotel(Hotel hotel) {
+        Hotel saved = hotelRepository.save(hotel);
+        hotels.invalidate(saved.getId());
+        return saved;
+    }
+}
@@ -0,0 +1,150 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.cache.CacheInvalidationBus;
+import space.jayampatel.otelier.cache.InvalidationListener;
+import space.jayampatel.otelier.cache.LoadingMap;
+import space.jayampatel.otelier.dto.DailyManifest;
+import space.jayampatel.otelier.model.Booking;
+import space.jayampatel.otelier.repository.BookingRepository;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import jakarta.annotation.PostConstruct;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-hotel, per-day arrivals/departures manifests kept in memory.
+ *
+ * A manifest is loaded from Mongo once, on first request, and then kept current
+ * as bookings are created, on this node directly and on other nodes through the
+ * bookings change stream; any other change (archiving) drops all manifests.
+ * Concurrent first requests for the same day share a single load. A nightly job just after the date boundary drops past days and
+ * rebuilds today's manifest for every hotel seen recently, so the morning rush
+ * is served from memory.
+ */
+@Service
+public class ManifestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ManifestService.class);
+
+    private static final String CONFIRMED = "CONFIRMED";
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Value("${manifest.zone:UTC}")
+    private String zone;
+
+    // Manifests are cached from today up to this many days ahead
+    @Value("${manifest.cache-days-ahead:2}")
+    private int cacheDaysAhead;
+
+    private final LoadingMap<ManifestKey, DailyManifest> manifests = new LoadingMap<>();
+
+    @PostConstruct
+    public void init() {
+        invalidationBus.subscribe("bookings", new InvalidationListener() {
+            @Override
+            public void onChange(ChangeStreamDocument<Document> change) {
+                // Inserts carry the booking; deletes (archiving) only carry the _id
+                Document document = change.getFullDocument();
+                if (change.getOperationType() == OperationType.INSERT && document != null) {
+                    onBookingCreated(mongoTemplate.getConverter().read(Booking.class, document));
+                } else {
+                    manifests.clear();
+                }
+            }
+
+            @Override
+            public void onReset() {
+                manifests.clear();
+            }
+        });
+    }
+
+    /**
+     * Get a hotel's manifest for a day
+     */
+    public DailyManifest getManifest(String hotelId, LocalDate date) {
+        if (!isCacheable(date)) {
+            return load(hotelId, date);
+        }
+
+        return manifests.get(new ManifestKey(hotelId, date), key -> load(hotelId, date));
+    }
+
+    /**
+     * Apply a newly created booking to any manifests already in memory (or loading).
+     * Idempotent, so the change-stream copy of a local create is a no-op.
+     */
+    public void onBookingCreated(Booking booking) {
+        if (!CONFIRMED.equals(booking.getStatus())) {
+            return;
+        }
+        manifests.update(new ManifestKey(booking.getHotelId(), booking.getCheckInDate()),
+                manifest -> manifest.withBooking(booking));
+        manifests.update(new ManifestKey(booking.getHotelId(), booking.getCheckOutDate()),
+                manifest -> manifest.withBooking(booking));
+    }
+
+    /**
+     * Drop past days and rebuild today's manifests around the date boundary
+     */
+    @Scheduled(cron = "${manifest.rebuild-cron:0 5 0 * * *}", zone = "${manifest.zone:UTC}")
+    public void rebuild() {
+        LocalDate today = today();
+
+        Set<String> activeHotelIds = new LinkedHashSet<>();
+        manifests.forEachKey(key -> activeHotelIds.add(key.hotelId()));
+        manifests.removeIf(key -> key.date().isBefore(today));
+
+        for (String hotelId : activeHotelIds) {
+            try {
+                manifests.put(new ManifestKey(hotelId, today), load(hotelId, today));
+            } catch (Exception e) {
+                logger.error("Failed to rebuild manifest for hotel {}: {}", hotelId, e.getMessage());
+            }
+        }
+
+        logger.info("Rebuilt {} manifests for {}", activeHotelIds.size(), today);
+    }
+
+    private DailyManifest load(String hotelId, LocalDate date) {
+        List<Booking> arrivals = bookingRepository.findByHotelIdAndStatusAndCheckInDate(hotelId, CONFIRMED, date);
+        List<Booking> departures = bookingRepository.findByHotelIdAndStatusAndCheckOutDate(hotelId, CONFIRMED, date);
+        return new DailyManifest(hotelId, date, arrivals, departures);
+    }
+
+    private boolean isCacheable(LocalDate date) {
+        LocalDate today = today();
+        return !date.isBefore(today) && !date.isAfter(today.plusDays(cacheDaysAhead));
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(ZoneId.of(zone));
+    }
+
+    private record ManifestKey(String hotelId, LocalDate date) {
+    }
+}
@@ -1,5 +1,7 @@
 package space.jayampatel.otelier.service;
 
+import jakarta.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -21,13 +23,21 @@ public class NotificationService {
     
     private final WebClient webClient;
     
-    public NotificationService() {
-        this.webClient = WebClient.builder().build();
+    // Boot's builder carries the tracing filter, so the Slack call is a child span with propagated headers
+    public NotificationService(WebClient.Builder webClientBuilder) {
+        this.webClient = webClientBuilder.build();
+    }
+    
+    // A configuration problem, so warned about once rather than on every booking
+    @PostConstruct
+    public void init() {
+        if (slackWebhookUrl == null || slackWebhookUrl.isEmpty()) {
+            logger.warn("Slack webhook URL not configured. Booking notifications are disabled.");
+        }
     }
     
     public void notifyBookingCreated(Booking booking) {
         if (slackWebhookUrl == null || slackWebhookUrl.isEmpty()) {
-            logger.warn("Slack webhook URL not configured. Skipping notification.");
             return;
         }
         
@@ -43,7 +53,7 @@ public class NotificationService {
                 booking.getHotelId(),
                 booking.getGuestName(),
                 booking.getGuestEmail(),
-                booking.getRoomNumber(),
+                booking.getRoomNumber() != null ? booking.getRoomNumber() : "to be assigned at check-in",
                 booking.getCheckInDate(),
                 booking.getCheckOutDate(),
                 booking.getStatus()
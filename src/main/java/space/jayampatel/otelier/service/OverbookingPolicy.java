@@ -0,0 +1,16 @@
+package space.jayampatel.otelier.service;
+
+import java.time.LocalDate;
+
+/**
+ * Decides how many rooms of a type may be sold past physical capacity on a night.
+ * Consulted for every room-type booking, so implementations answer from memory.
+ */
+public interface OverbookingPolicy {
+
+    /**
+     * Extra rooms allowed for each night in [checkInDate, checkOutDate); all zeros where
+     * this node may not overbook the hotel
+     */
+    int[] allowance(String hotelId, String roomType, int physicalRooms, LocalDate checkInDate, LocalDate checkOutDate);
+}
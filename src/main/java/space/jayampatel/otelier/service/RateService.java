@@ -0,0 +1,205 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.cache.CacheInvalidationBus;
+import space.jayampatel.otelier.cache.InvalidationListener;
+import space.jayampatel.otelier.cache.LocalCache;
+import space.jayampatel.otelier.dto.RateQuote;
+import space.jayampatel.otelier.exception.InvalidRoomException;
+import space.jayampatel.otelier.model.RateCalendar;
+import space.jayampatel.otelier.model.RatePlan;
+import space.jayampatel.otelier.model.RateRule;
+import space.jayampatel.otelier.model.RoomOccupancy;
+import space.jayampatel.otelier.repository.RatePlanRepository;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stay pricing from per-hotel rate plans.
+ *
+ * Each hotel's plans are compiled on first use into a {@link RateCalendar}: one nightly
+ * rate array per room type over the next rates.calendar-days days. A quote is then a
+ * sum over the stay's nights. Calendars are dropped when rate_plans changes (via the
+ * invalidation bus) and after the date boundary, so the window slides forward; the
+ * cache TTL bounds staleness if the bus is down.
+ */
+@Service
+public class RateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateService.class);
+
+    @Autowired
+    private RatePlanRepository ratePlanRepository;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${rates.zone:UTC}")
+    private String zone;
+
+    @Value("${rates.calendar-days:400}")
+    private int calendarDays;
+
+    // Longest stay that can be quoted or booked; bounds the nightly rate array
+    @Value("${rates.max-nights:90}")
+    private int maxNights;
+
+    @Value("${rates.cache.max-size:10000}")
+    private long maxSize;
+
+    @Value("${rates.cache.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    private LocalCache<String, RateCalendar> calendars;
+
+    @PostConstruct
+    public void init() {
+        calendars = new LocalCache<>("rate-calendars", maxSize, Duration.ofSeconds(ttlSeconds), meterRegistry);
+
+        invalidationBus.subscribe("rate_plans", new InvalidationListener() {
+            @Override
+            public void onChange(ChangeStreamDocument<Document> change) {
+                // Only inserts carry the hotel ID; plans change rarely, so drop everything otherwise
+                Document plan = change.getFullDocument();
+                if (plan != null && plan.getString("hotelId") != null) {
+                    calendars.invalidate(plan.getString("hotelId"));
+                } else {
+                    calendars.invalidateAll();
+                }
+            }
+
+            @Override
+            public void onReset() {
+                calendars.invalidateAll();
+            }
+        });
+    }
+
+    /**
+     * Price a stay, using the room type's plan or else the hotel-wide one.
+     * Returns null when the hotel has no plan that applies.
+     */
+    public RateQuote quote(String hotelId, String roomType, LocalDate checkInDate, LocalDate checkOutDate) {
+        if (!checkOutDate.isAfter(checkInDate)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        checkStayLength(checkInDate, checkOutDate);
+
+        RateCalendar calendar = calendar(hotelId);
+        long[] nightly = calendar.nightlyRates(roomType,
+                RoomOccupancy.epochDay(checkInDate), RoomOccupancy.epochDay(checkOutDate));
+        if (nightly == null) {
+            return null;
+        }
+
+        return new RateQuote(roomType, checkInDate, checkOutDate, calendar.currency(roomType), nightly);
+    }
+
+    /**
+     * Reject stays longer than rates.max-nights
+     */
+    public void checkStayLength(LocalDate checkInDate, LocalDate checkOutDate) {
+        if (checkOutDate.toEpochDay() - checkInDate.toEpochDay() > maxNights) {
+            throw new InvalidRoomException("Stays cannot be longer than " + maxNights + " nights");
+        }
+    }
+
+    public List<RatePlan> getPlans(String hotelId) {
+        return ratePlanRepository.findByHotelId(hotelId);
+    }
+
+    /**
+     * Replace a hotel's rate plans; bookings already made keep their price
+     */
+    public List<RatePlan> replacePlans(String hotelId, List<RatePlan> plans) {
+        Set<String> roomTypes = new HashSet<>();
+        for (RatePlan plan : plans) {
+            if (plan.getCurrency() == null || plan.getCurrency().isBlank()) {
+                throw new IllegalArgumentException("Rate plan currency is required");
+            }
+            if (plan.getBaseRate() < 0) {
+                throw new IllegalArgumentException("Rate plan baseRate cannot be negative");
+            }
+            String roomType = plan.getRoomType() == null || plan.getRoomType().isBlank() ? null : plan.getRoomType();
+            if (!roomTypes.add(roomType == null ? "" : roomType)) {
+                throw new IllegalArgumentException("Only one rate plan per room type is allowed");
+            }
+            if (plan.getRules() != null) {
+                for (RateRule rule : plan.getRules()) {
+                    checkRule(rule);
+                }
+            }
+            plan.setId(null);
+            plan.setHotelId(hotelId);
+            plan.setRoomType(roomType);
+        }
+
+        // Save before deleting, so a failure part-way never leaves the hotel unpriced
+        List<String> oldIds = ratePlanRepository.findByHotelId(hotelId).stream().map(RatePlan::getId).toList();
+        List<RatePlan> saved = ratePlanRepository.saveAll(plans);
+        ratePlanRepository.deleteAllById(oldIds);
+
+        // Other nodes drop their calendars when the change stream delivers the writes
+        calendars.invalidate(hotelId);
+        logger.info("Replaced rate plans for hotel {}: {} plans", hotelId, saved.size());
+        return saved;
+    }
+
+    /**
+     * Drop every calendar after the date boundary so windows slide forward
+     */
+    @Scheduled(cron = "${rates.reload-cron:0 15 0 * * *}", zone = "${rates.zone:UTC}")
+    public void reload() {
+        calendars.invalidateAll();
+        logger.info("Dropped rate calendars");
+    }
+
+    // Concurrent misses for a hotel share one compile
+    private RateCalendar calendar(String hotelId) {
+        return calendars.get(hotelId, this::compile);
+    }
+
+    private RateCalendar compile(String hotelId) {
+        // From yesterday, matching the room occupancy window
+        LocalDate windowStart = LocalDate.now(ZoneId.of(zone)).minusDays(1);
+        List<RatePlan> plans = ratePlanRepository.findByHotelId(hotelId);
+
+        RateCalendar calendar = new RateCalendar(plans, RoomOccupancy.epochDay(windowStart), calendarDays);
+        logger.info("Compiled {} rate plans for hotel {}", plans.size(), hotelId);
+        return calendar;
+    }
+
+    private static void checkRule(RateRule rule) {
+        if (rule.getRate() != null && rule.getRate() < 0) {
+            throw new IllegalArgumentException("Rate rule rate cannot be negative");
+        }
+        if (rule.getPercent() < -100) {
+            throw new IllegalArgumentException("Rate rule percent cannot be below -100");
+        }
+        if (rule.getStartDate() != null && rule.getEndDate() != null
+                && rule.getEndDate().isBefore(rule.getStartDate())) {
+            throw new IllegalArgumentException("Rate rule ends before it starts");
+        }
+    }
+}
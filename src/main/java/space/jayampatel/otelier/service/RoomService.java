@@ -0,0 +1,367 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.cache.CacheInvalidationBus;
+import space.jayampatel.otelier.cache.InvalidationListener;
+import space.jayampatel.otelier.cache.LoadingMap;
+import space.jayampatel.otelier.dto.NightOccupancy;
+import space.jayampatel.otelier.exception.BookingConflictException;
+import space.jayampatel.otelier.exception.InvalidRoomException;
+import space.jayampatel.otelier.model.Booking;
+import space.jayampatel.otelier.model.Room;
+import space.jayampatel.otelier.model.RoomCatalog;
+import space.jayampatel.otelier.model.RoomOccupancy;
+import space.jayampatel.otelier.repository.BookingRepository;
+import space.jayampatel.otelier.repository.RoomRepository;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import jakarta.annotation.PostConstruct;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-hotel room catalogue and booked-night bitmap, kept in memory.
+ *
+ * Loaded on first use from the rooms collection plus the confirmed bookings in the
+ * occupancy window, then kept current as bookings are created on this node and, through
+ * the bookings change stream, on other nodes. Hotels without a
+ * catalogue keep accepting free-form room numbers. A create claims its room here
+ * first, so in-node races and repeat conflicts never reach Mongo; Mongo is still
+ * checked before the save and stays the source of truth.
+ */
+@Service
+public class RoomService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomService.class);
+
+    private static final String CONFIRMED = "CONFIRMED";
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OverbookingPolicy overbookingPolicy;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Value("${rooms.zone:UTC}")
+    private String zone;
+
+    @Value("${rooms.occupancy-days:400}")
+    private int occupancyDays;
+
+    private final LoadingMap<String, HotelRooms> hotels = new LoadingMap<>();
+
+    @PostConstruct
+    public void init() {
+        invalidationBus.subscribe("bookings", new InvalidationListener() {
+            @Override
+            public void onChange(ChangeStreamDocument<Document> change) {
+                Document document = change.getFullDocument();
+                if (change.getOperationType() != OperationType.INSERT || document == null) {
+                    // Deletes (archiving) only carry the _id
+                    hotels.clear();
+                    return;
+                }
+
+                Booking booking = mongoTemplate.getConverter().read(Booking.class, document);
+                if (booking.getRoomNumber() != null) {
+                    onBookingCreated(booking);
+                } else if (booking.getHotelId() != null) {
+                    // Overbooked stays are counted, not idempotent bits, so recount from Mongo
+                    hotels.remove(booking.getHotelId());
+                }
+            }
+
+            @Override
+            public void onReset() {
+                hotels.clear();
+            }
+        });
+    }
+
+    public List<Room> getRooms(String hotelId) {
+        return roomRepository.findByHotelId(hotelId);
+    }
+
+    /**
+     * Add a room to a hotel's catalogue
+     */
+    public Room addRoom(String hotelId, Room room) {
+        if (room.getRoomNumber() == null || room.getRoomNumber().isBlank()) {
+            throw new IllegalArgumentException("Room number is required");
+        }
+        if (roomRepository.existsByHotelIdAndRoomNumber(hotelId, room.getRoomNumber())) {
+            throw new IllegalArgumentException("Room " + room.getRoomNumber() + " already exists");
+        }
+
+        room.setId(null);
+        room.setHotelId(hotelId);
+        Room saved = roomRepository.save(room);
+
+        // IDs are dense, so the catalogue and bitmap are rebuilt on next use
+        hotels.remove(hotelId);
+        logger.info("Room {} added to hotel {}", saved.getRoomNumber(), hotelId);
+        return saved;
+    }
+
+    public RoomCatalog getCatalog(String hotelId) {
+        return rooms(hotelId).catalog();
+    }
+
+    /**
+     * Reject room numbers that are not in the hotel's catalogue (if it has one)
+     */
+    public void checkRoom(String hotelId, String roomNumber) {
+        RoomCatalog catalog = getCatalog(hotelId);
+        if (!catalog.isEmpty() && catalog.idOf(roomNumber) < 0) {
+            throw new InvalidRoomException("Room " + roomNumber + " does not exist in this hotel");
+        }
+    }
+
+    /**
+     * Type of a catalogued room, or null for unknown rooms and untyped rooms
+     */
+    public String roomTypeOf(String hotelId, String roomNumber) {
+        RoomCatalog catalog = getCatalog(hotelId);
+        int roomId = roomNumber == null ? -1 : catalog.idOf(roomNumber);
+        int typeId = roomId < 0 ? -1 : catalog.roomTypeId(roomId);
+        return typeId < 0 ? null : catalog.typeName(typeId);
+    }
+
+    /**
+     * Hold a room for a stay in memory before the Mongo check and save: the requested room
+     * number, or any free room of the requested type (allocated from that type's nightly
+     * inventory, up to its overbooking allowance). Throws a conflict when the room is taken
+ * or the type is sold out.
+     * Returns null for hotels without a catalogue, where only Mongo decides.
+     */
+    public Claim claim(String hotelId, String roomNumber, String roomType,
+                       LocalDate checkInDate, LocalDate checkOutDate) {
+        HotelRooms rooms = rooms(hotelId);
+        RoomCatalog catalog = rooms.catalog();
+        int checkInDay = RoomOccupancy.epochDay(checkInDate);
+        int checkOutDay = RoomOccupancy.epochDay(checkOutDate);
+
+        if (roomNumber == null || roomNumber.isBlank()) {
+            return allocate(hotelId, rooms, roomType, checkInDate, checkOutDate);
+        }
+
+        if (catalog.isEmpty()) {
+            return null;
+        }
+
+        int roomId = catalog.idOf(roomNumber);
+        if (roomId < 0) {
+            throw new InvalidRoomException("Room " + roomNumber + " does not exist in this hotel");
+        }
+        if (!rooms.occupancy().tryBook(roomId, checkInDay, checkOutDay)) {
+            throw new BookingConflictException(
+                    String.format("Room %s is already booked for the selected dates", roomNumber));
+        }
+
+        return new Claim(rooms.occupancy(), -1, roomId, roomNumber, checkInDay, checkOutDay);
+    }
+
+    /**
+     * Give back a claimed room (or overbooked inventory) when the booking is not saved. Null-safe.
+     */
+    public void release(Claim claim) {
+        if (claim == null) {
+            return;
+        }
+        if (claim.isUnassigned()) {
+            claim.occupancy.unreserve(claim.typeId, claim.checkInDay, claim.checkOutDay);
+        } else {
+            claim.occupancy.release(claim.roomId, claim.checkInDay, claim.checkOutDay);
+        }
+    }
+
+    /**
+     * Apply a newly created booking to the bitmap, if the hotel is loaded.
+     * Overbooked (unassigned) bookings were already counted when they were claimed.
+     */
+    public void onBookingCreated(Booking booking) {
+        if (booking.getRoomNumber() == null || !CONFIRMED.equals(booking.getStatus())) {
+            return;
+        }
+        hotels.update(booking.getHotelId(), rooms -> {
+            book(rooms, booking);
+            return rooms;
+        });
+    }
+
+    /**
+     * Booked and total rooms for each night in [startDate, endDate)
+     */
+    public List<NightOccupancy> getOccupancy(String hotelId, LocalDate startDate, LocalDate endDate) {
+        HotelRooms rooms = rooms(hotelId);
+        if (rooms.occupancy() == null) {
+            throw new InvalidRoomException("Hotel has no room catalogue");
+        }
+
+        if (!endDate.isAfter(startDate)) {
+            throw new InvalidRoomException("End date must be after start date");
+        }
+
+        int from = RoomOccupancy.epochDay(startDate);
+        int to = RoomOccupancy.epochDay(endDate);
+        if (!rooms.occupancy().covers(from) || !rooms.occupancy().covers(to - 1)) {
+            throw new InvalidRoomException("Occupancy is available for the next " + occupancyDays + " days");
+        }
+
+        int[] booked = rooms.occupancy().bookedRooms(from, to);
+        List<NightOccupancy> nights = new ArrayList<>(booked.length);
+        for (int i = 0; i < booked.length; i++) {
+            nights.add(new NightOccupancy(startDate.plusDays(i), booked[i], rooms.catalog().size()));
+        }
+        return nights;
+    }
+
+    /**
+     * Drop everything after the date boundary so windows slide forward
+     */
+    @Scheduled(cron = "${rooms.reload-cron:0 10 0 * * *}", zone = "${rooms.zone:UTC}")
+    public void reload() {
+        int count = hotels.size();
+        hotels.clear();
+        logger.info("Dropped room state for {} hotels", count);
+    }
+
+    private Claim allocate(String hotelId, HotelRooms rooms, String roomType,
+                           LocalDate checkInDate, LocalDate checkOutDate) {
+        RoomCatalog catalog = rooms.catalog();
+        int checkInDay = RoomOccupancy.epochDay(checkInDate);
+        int checkOutDay = RoomOccupancy.epochDay(checkOutDate);
+        int typeId = catalog.typeIdOf(roomType);
+        if (typeId < 0) {
+            throw new InvalidRoomException("Room type " + roomType + " does not exist in this hotel");
+        }
+        if (!rooms.occupancy().covers(checkInDay) || !rooms.occupancy().covers(checkOutDay - 1)) {
+            throw new InvalidRoomException(
+                    "Room type bookings are available for the next " + (occupancyDays - 1) + " days");
+        }
+
+        // All zeros unless this node is the hotel's single writer (see the policy)
+        int[] allowance = overbookingPolicy.allowance(
+                hotelId, roomType, catalog.roomsOfType(typeId).length, checkInDate, checkOutDate);
+
+        int roomId = rooms.occupancy().allocate(typeId, checkInDay, checkOutDay, allowance);
+        if (roomId == RoomOccupancy.UNASSIGNED) {
+            logger.info("Overbooked {} in hotel {} for {} to {}", roomType, hotelId, checkInDate, checkOutDate);
+            return new Claim(rooms.occupancy(), typeId, roomId, null, checkInDay, checkOutDay);
+        }
+        if (roomId < 0) {
+            throw new BookingConflictException(
+                    String.format("No %s rooms are available for the selected dates", roomType));
+        }
+
+        return new Claim(rooms.occupancy(), typeId, roomId, catalog.roomNumber(roomId), checkInDay, checkOutDay);
+    }
+
+    private HotelRooms rooms(String hotelId) {
+        return hotels.get(hotelId, this::load);
+    }
+
+    private HotelRooms load(String hotelId) {
+        RoomCatalog catalog = new RoomCatalog(hotelId, roomRepository.findByHotelId(hotelId));
+        if (catalog.isEmpty()) {
+            return new HotelRooms(catalog, null);
+        }
+
+        // From yesterday, so a stay checking in today can see a booking that ends today
+        LocalDate windowStart = LocalDate.now(ZoneId.of(zone)).minusDays(1);
+        LocalDate windowEnd = windowStart.plusDays(occupancyDays);
+
+        HotelRooms rooms = new HotelRooms(catalog,
+                new RoomOccupancy(catalog, RoomOccupancy.epochDay(windowStart), occupancyDays));
+
+        List<Booking> bookings = bookingRepository
+                .findByHotelIdAndStatusAndCheckInDateLessThanEqualAndCheckOutDateGreaterThanEqual(
+                        hotelId, CONFIRMED, windowEnd, windowStart);
+        for (Booking booking : bookings) {
+            book(rooms, booking);
+        }
+
+        logger.info("Loaded {} rooms and {} bookings for hotel {}", catalog.size(), bookings.size(), hotelId);
+        return rooms;
+    }
+
+    private void book(HotelRooms rooms, Booking booking) {
+        if (rooms.occupancy() == null || booking.getCheckInDate() == null || booking.getCheckOutDate() == null) {
+            return;
+        }
+
+        int checkInDay = RoomOccupancy.epochDay(booking.getCheckInDate());
+        int checkOutDay = RoomOccupancy.epochDay(booking.getCheckOutDate());
+
+        // Overbooked stays hold type inventory without a room
+        if (booking.getRoomNumber() == null) {
+            int typeId = rooms.catalog().typeIdOf(booking.getRoomType());
+            if (typeId >= 0) {
+                rooms.occupancy().addUnassigned(typeId, checkInDay, checkOutDay);
+            }
+            return;
+        }
+
+        int roomId = rooms.catalog().idOf(booking.getRoomNumber());
+        if (roomId >= 0) {
+            rooms.occupancy().book(roomId, checkInDay, checkOutDay);
+        }
+    }
+
+    private record HotelRooms(RoomCatalog catalog, RoomOccupancy occupancy) {
+    }
+
+    /**
+     * A room held in memory for one stay, or type inventory without a room when the stay
+     * is overbooked. Tied to the bitmap it was taken from, so a release after a reload
+     * cannot clear bits of the rebuilt state.
+     */
+    public static final class Claim {
+        private final RoomOccupancy occupancy;
+        private final int typeId;
+        private final int roomId;
+        private final String roomNumber;
+        private final int checkInDay;
+        private final int checkOutDay;
+
+        private Claim(RoomOccupancy occupancy, int typeId, int roomId, String roomNumber,
+                      int checkInDay, int checkOutDay) {
+            this.occupancy = occupancy;
+            this.typeId = typeId;
+            this.roomId = roomId;
+            this.roomNumber = roomNumber;
+            this.checkInDay = checkInDay;
+            this.checkOutDay = checkOutDay;
+        }
+
+        public String getRoomNumber() {
+            return roomNumber;
+        }
+
+        public boolean isUnassigned() {
+            return roomId == RoomOccupancy.UNASSIGNED;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.cache.CacheInvalidationBus;
+import space.jayampatel.otelier.cache.InvalidationListener;
+import space.jayampatel.otelier.cluster.HotelRing;
+import space.jayampatel.otelier.model.OverbookingRule;
+import space.jayampatel.otelier.repository.OverbookingRuleRepository;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+
+import jakarta.annotation.PostConstruct;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Overbooking limits from the overbooking_rules collection, held in memory.
+ *
+ * The whole rule set is swapped atomically whenever the collection changes (via the
+ * invalidation bus) and on a timer as a fallback, so revenue teams can change rules
+ * mid-day without a restart. For each night, the most specific matching rule wins:
+ * room type beats hotel-wide, and a dated rule beats an undated one. Ties take the
+ * smaller allowance.
+ *
+ * Overbooked stays are only counted in the allocating node's memory and Mongo has no
+ * room to conflict on, so a hotel may only be overbooked by a single writer: its owner
+ * when hotels are partitioned (cluster.enabled), or this node when it is declared the
+ * only one (overbooking.single-writer). Elsewhere the allowance is zero.
+ */
+@Service
+public class RuleBasedOverbookingPolicy implements OverbookingPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleBasedOverbookingPolicy.class);
+
+    @Autowired
+    private OverbookingRuleRepository ruleRepository;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    @Autowired
+    private HotelRing hotelRing;
+
+    @Value("${overbooking.enabled:true}")
+    private boolean enabled;
+
+    // Without partitioning, only safe when this is the only node taking bookings
+    @Value("${overbooking.single-writer:false}")
+    private boolean singleWriter;
+
+    private final AtomicReference<Map<String, List<OverbookingRule>>> rulesByHotel = new AtomicReference<>();
+
+    @PostConstruct
+    public void init() {
+        if (enabled && !hotelRing.isEnabled() && !singleWriter) {
+            logger.warn("Overbooking rules will not be applied: enable cluster.enabled, or set "
+                    + "overbooking.single-writer=true if this is the only node taking bookings");
+        }
+
+        invalidationBus.subscribe("overbooking_rules", new InvalidationListener() {
+            @Override
+            public void onChange(ChangeStreamDocument<Document> change) {
+                reload();
+            }
+
+            @Override
+            public void onReset() {
+                reload();
+            }
+        });
+    }
+
+    @Override
+    public int[] allowance(String hotelId, String roomType, int physicalRooms,
+                           LocalDate checkInDate, LocalDate checkOutDate) {
+        int nights = (int) (checkOutDate.toEpochDay() - checkInDate.toEpochDay());
+        int[] allowance = new int[Math.max(nights, 0)];
+
+        List<OverbookingRule> rules = appliesTo(hotelId) ? rules().getOrDefault(hotelId, List.of()) : List.of();
+        if (rules.isEmpty()) {
+            return allowance;
+        }
+
+        for (int i = 0; i < allowance.length; i++) {
+            OverbookingRule rule = match(rules, roomType, checkInDate.plusDays(i), physicalRooms);
+            allowance[i] = rule == null ? 0 : extraRooms(rule, physicalRooms);
+        }
+        return allowance;
+    }
+
+    /**
+     * Whether this node may overbook the hotel
+     */
+    public boolean appliesTo(String hotelId) {
+        if (!enabled) {
+            return false;
+        }
+        return hotelRing.isEnabled() ? hotelRing.isLocal(hotelId) : singleWriter;
+    }
+
+    public List<OverbookingRule> getRules(String hotelId) {
+        return ruleRepository.findByHotelId(hotelId);
+    }
+
+    /**
+     * Replace a hotel's rules; takes effect on this node at once and on others via the bus
+     */
+    public List<OverbookingRule> replaceRules(String hotelId, List<OverbookingRule> rules) {
+        for (OverbookingRule rule : rules) {
+            if (rule.getPercent() < 0 || rule.getPercent() > 100) {
+                throw new IllegalArgumentException("Overbooking percent must be between 0 and 100");
+            }
+            if (rule.getMaxRooms() != null && rule.getMaxRooms() < 0) {
+                throw new IllegalArgumentException("Overbooking maxRooms cannot be negative");
+            }
+            if (rule.getStartDate() != null && rule.getEndDate() != null
+                    && rule.getEndDate().isBefore(rule.getStartDate())) {
+                throw new IllegalArgumentException("Overbooking rule ends before it starts");
+            }
+            rule.setId(null);
+            rule.setHotelId(hotelId);
+        }
+
+        // Save before deleting, so a failure part-way never leaves the hotel without rules
+        List<String> oldIds = ruleRepository.findByHotelId(hotelId).stream().map(OverbookingRule::getId).toList();
+        List<OverbookingRule> saved = ruleRepository.saveAll(rules);
+        ruleRepository.deleteAllById(oldIds);
+        reload();
+
+        logger.info("Replaced overbooking rules for hotel {}: {} rules", hotelId, saved.size());
+        if (!saved.isEmpty() && (!enabled || (!hotelRing.isEnabled() && !singleWriter))) {
+            logger.warn("Overbooking rules for hotel {} are stored but not applied: overbooking is off, "
+                    + "or no node is the hotel's single writer (cluster.enabled / overbooking.single-writer)", hotelId);
+        }
+        return saved;
+    }
+
+    @Scheduled(fixedDelayString = "${overbooking.reload-ms:60000}")
+    public void reload() {
+        try {
+            rulesByHotel.set(ruleRepository.findAll().stream()
+                    .collect(Collectors.groupingBy(OverbookingRule::getHotelId, Collectors.toUnmodifiableList())));
+        } catch (Exception e) {
+            // Keep serving the previous rule set
+            logger.error("Failed to reload overbooking rules: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, List<OverbookingRule>> rules() {
+        Map<String, List<OverbookingRule>> rules = rulesByHotel.get();
+        if (rules == null) {
+            reload();
+            rules = rulesByHotel.get();
+        }
+        return rules == null ? Map.of() : rules;
+    }
+
+    static OverbookingRule match(List<OverbookingRule> rules, String roomType, LocalDate night,
+                                 int physicalRooms) {
+        OverbookingRule best = null;
+        int bestScore = -1;
+
+        for (OverbookingRule rule : rules) {
+            if (rule.getRoomType() != null && !rule.getRoomType().equals(roomType)) {
+                continue;
+            }
+            if ((rule.getStartDate() != null && night.isBefore(rule.getStartDate()))
+                    || (rule.getEndDate() != null && night.isAfter(rule.getEndDate()))) {
+                continue;
+            }
+
+            int score = (rule.getRoomType() != null ? 2 : 0)
+                    + (rule.getStartDate() != null || rule.getEndDate() != null ? 1 : 0);
+            if (score > bestScore || (score == bestScore
+                    && extraRooms(rule, physicalRooms) < extraRooms(best, physicalRooms))) {
+                best = rule;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static int extraRooms(OverbookingRule rule, int physicalRooms) {
+        int extra = physicalRooms * rule.getPercent() / 100;
+        return rule.getMaxRooms() == null ? extra : Math.min(extra, rule.getMaxRooms());
+    }
+}
@@ -0,0 +1,155 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.dto.BookingEvent;
+import space.jayampatel.otelier.dto.BookingJsonWriter;
+import space.jayampatel.otelier.dto.BookingResponse;
+import space.jayampatel.otelier.dto.DailyManifest;
+import space.jayampatel.otelier.model.Booking;
+import space.jayampatel.otelier.security.JwtUtil;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.JwtException;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Warm-up phase run after startup and before the node reports itself healthy.
+ *
+ * Opens Mongo connections ahead of traffic, builds the JWT parser, and runs the
+ * booking serialization paths enough times for Jackson introspection and the JIT
+ * to settle. Each step is best-effort: a failure is logged, and warm-up still completes.
+ */
+@Service
+public class WarmupService implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+
+    // Well-formed HS256 token with an all-zero signature
+    private static final String WARMUP_TOKEN = "eyJhbGciOiJIUzI1NiIsInR5cCI6IkpXVCJ9"
+            + ".eyJzdWIiOiJ3YXJtdXAiLCJpc3MiOiJ3YXJtdXAifQ"
+            + ".AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingJsonWriter bookingJsonWriter;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    // Concurrent pings, so that many pooled connections are opened up front
+    @Value("${warmup.mongo-connections:10}")
+    private int mongoConnections;
+
+    @Value("${warmup.iterations:2000}")
+    private int iterations;
+
+    private volatile boolean complete;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            complete = true;
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+
+        warmMongo();
+        warmJwt();
+        warmSerialization();
+
+        complete = true;
+        logger.info("Warm-up finished in {} ms", System.currentTimeMillis() - start);
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    private void warmMongo() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<Void>> pings = new ArrayList<>();
+            for (int i = 0; i < mongoConnections; i++) {
+                pings.add(CompletableFuture.runAsync(
+                        () -> mongoTemplate.executeCommand(new Document("ping", 1)), executor));
+            }
+            CompletableFuture.allOf(pings.toArray(new CompletableFuture[0])).join();
+        } catch (Exception e) {
+            logger.warn("Mongo warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    // Parses and verifies a token that can never pass, so warm-up mints no usable credential
+    private void warmJwt() {
+        try {
+            for (int i = 0; i < iterations / 10; i++) {
+                try {
+                    jwtUtil.validateToken(WARMUP_TOKEN);
+                } catch (JwtException e) {
+                    // Expected: the signature doesn't match the configured secret
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("JWT warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    private void warmSerialization() {
+        try {
+            Booking booking = sampleBooking();
+            List<Booking> sample = List.of(booking, booking, booking);
+
+            for (int i = 0; i < iterations; i++) {
+                bookingJsonWriter.writeArray(sample.stream(), OutputStream.nullOutputStream());
+                objectMapper.writeValueAsBytes(new BookingResponse(booking));
+            }
+
+            objectMapper.writeValueAsBytes(new BookingEvent(BookingEvent.CREATED, booking));
+            objectMapper.writeValueAsBytes(new DailyManifest(
+                    booking.getHotelId(), booking.getCheckInDate(), sample, List.of()));
+            bookingJsonWriter.writeArray(Stream.empty(), OutputStream.nullOutputStream());
+        } catch (Exception e) {
+            logger.warn("Serialization warm-up failed: {}", e.getMessage());
+        }
+    }
+
+    private static Booking sampleBooking() {
+        Booking booking = new Booking();
+        booking.setId("000000000000000000000000");
+        booking.setHotelId("warmup-hotel");
+        booking.setUserId("warmup-user");
+        booking.setGuestName("Warm Up");
+        booking.setGuestEmail("warmup@example.com");
+        booking.setRoomNumber("101");
+        booking.setCheckInDate(LocalDate.now());
+        booking.setCheckOutDate(LocalDate.now().plusDays(1));
+        booking.setCreatedBy("warmup-user");
+        return booking;
+    }
+}
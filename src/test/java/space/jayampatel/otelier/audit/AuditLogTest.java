@@ -0,0 +1,155 @@
+package space.jayampatel.otelier.audit;
+
+import space.jayampatel.otelier.model.AuditEvent;
+
+import com.mongodb.bulk.BulkWriteError;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditLogTest {
+
+    private static final int DUPLICATE_KEY = 11000;
+    private static final int NOT_WRITABLE_PRIMARY = 10107;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BulkOperations bulkOps = mock(BulkOperations.class);
+
+    // Entity IDs of each insert attempt
+    private final List<List<String>> writes = new ArrayList<>();
+    private final List<RuntimeException> failures = new ArrayList<>();
+
+    private AuditLog auditLog;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(AuditEvent.class))).thenReturn(bulkOps);
+        when(bulkOps.insert(anyList())).thenAnswer(invocation -> {
+            writes.add(((List<AuditEvent>) invocation.getArgument(0)).stream().map(AuditEvent::getEntityId).toList());
+            return bulkOps;
+        });
+        when(bulkOps.execute()).thenAnswer(invocation -> {
+            if (!failures.isEmpty()) {
+                throw failures.remove(0);
+            }
+            return null;
+        });
+
+        auditLog = new AuditLog();
+        ReflectionTestUtils.setField(auditLog, "mongoTemplate", mongoTemplate);
+        ReflectionTestUtils.setField(auditLog, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(auditLog, "enabled", false);
+        ReflectionTestUtils.setField(auditLog, "bufferSize", 16);
+        ReflectionTestUtils.setField(auditLog, "batchSize", 4);
+        ReflectionTestUtils.setField(auditLog, "maxAttempts", 3);
+        auditLog.init();
+        ReflectionTestUtils.setField(auditLog, "enabled", true);
+    }
+
+    @Test
+    void permanentlyRejectedEventsAreNotRetried() {
+        record("a", "b", "c");
+        failures.add(bulkFailure(error(DUPLICATE_KEY, 1)));
+
+        auditLog.flush();
+        record("d");
+        auditLog.flush();
+
+        assertThat(writes).containsExactly(List.of("a", "b", "c"), List.of("d"));
+        assertThat(rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void transientFailuresAreRetriedAlongsideNewEvents() {
+        record("a", "b");
+        failures.add(bulkFailure(error(NOT_WRITABLE_PRIMARY, 0)));
+
+        auditLog.flush();
+        record("c");
+        auditLog.flush();
+
+        assertThat(writes).containsExactly(List.of("a", "b"), List.of("a", "c"));
+        assertThat(rejected()).isZero();
+    }
+
+    @Test
+    void transientFailuresStopAfterMaxAttempts() {
+        record("a");
+        for (int i = 0; i < 3; i++) {
+            failures.add(bulkFailure(error(NOT_WRITABLE_PRIMARY, 0)));
+            auditLog.flush();
+        }
+        record("b");
+        auditLog.flush();
+
+        assertThat(writes).containsExactly(List.of("a"), List.of("a"), List.of("a"), List.of("b"));
+        assertThat(rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void unreachableMongoRetriesWithoutUsingAttempts() {
+        record("a");
+        for (int i = 0; i < 5; i++) {
+            failures.add(new DataAccessResourceFailureException("timed out"));
+            auditLog.flush();
+        }
+        auditLog.flush();
+
+        assertThat(writes).hasSize(6).allSatisfy(write -> assertThat(write).containsExactly("a"));
+        assertThat(rejected()).isZero();
+    }
+
+    @Test
+    void otherFailuresRetryTheWholeBatchUpToMaxAttempts() {
+        record("a", "b");
+        for (int i = 0; i < 3; i++) {
+            failures.add(new IllegalStateException("boom"));
+            auditLog.flush();
+        }
+        auditLog.flush();
+
+        assertThat(writes).hasSize(3);
+        assertThat(rejected()).isEqualTo(2);
+    }
+
+    private void record(String... entityIds) {
+        for (String entityId : entityIds) {
+            auditLog.record(AuditEvent.BOOKING_CREATED, "hotel-1", entityId, "user-1", null);
+        }
+    }
+
+    private double rejected() {
+        return meterRegistry.counter("audit.events.rejected").count();
+    }
+
+    private static BulkWriteError error(int code, int index) {
+        return new BulkWriteError(code, "error " + code, new BsonDocument(), index);
+    }
+
+    private static BulkOperationException bulkFailure(BulkWriteError... errors) {
+        BulkOperationException exception = mock(BulkOperationException.class);
+        when(exception.getErrors()).thenReturn(List.of(errors));
+        when(exception.getMessage()).thenReturn("bulk write failed");
+        return exception;
+    }
+}
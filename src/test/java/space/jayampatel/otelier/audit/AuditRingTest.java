@@ -0,0 +1,115 @@
+package space.jayampatel.otelier.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditRingTest {
+
+    @Test
+    void rejectsOffersOnceFull() {
+        AuditRing<Integer> ring = new AuditRing<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        assertThat(ring.offer(4)).isFalse();
+        assertThat(ring.size()).isEqualTo(4);
+
+        List<Integer> batch = new ArrayList<>();
+        assertThat(ring.drainTo(batch, 10)).isEqualTo(4);
+        assertThat(batch).containsExactly(0, 1, 2, 3);
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void wrapsAroundInOrder() {
+        AuditRing<Integer> ring = new AuditRing<>(4);
+        List<Integer> batch = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            ring.offer(i);
+        }
+        assertThat(ring.drainTo(batch, 2)).isEqualTo(2);
+
+        // Slots 0 and 1 are free again; these land at 3, 0 and 1
+        assertThat(ring.offer(3)).isTrue();
+        assertThat(ring.offer(4)).isTrue();
+        assertThat(ring.offer(5)).isTrue();
+        assertThat(ring.offer(6)).isFalse();
+
+        batch.clear();
+        assertThat(ring.drainTo(batch, 10)).isEqualTo(4);
+        assertThat(batch).containsExactly(2, 3, 4, 5);
+    }
+
+    @Test
+    void drainStopsAtMax() {
+        AuditRing<Integer> ring = new AuditRing<>(8);
+        for (int i = 0; i < 5; i++) {
+            ring.offer(i);
+        }
+
+        List<Integer> batch = new ArrayList<>();
+        assertThat(ring.drainTo(batch, 3)).isEqualTo(3);
+        assertThat(ring.drainTo(batch, 3)).isEqualTo(2);
+        assertThat(ring.drainTo(batch, 3)).isZero();
+        assertThat(batch).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    void everyOfferFromConcurrentProducersIsDrainedOnce() throws InterruptedException {
+        AuditRing<Integer> ring = new AuditRing<>(1024);
+        int producers = 4;
+        int perProducer = 10_000;
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> batch = new ArrayList<>();
+        while (seen.size() < producers * perProducer) {
+            batch.clear();
+            ring.drainTo(batch, 256);
+            for (Integer element : batch) {
+                assertThat(seen.add(element)).isTrue();
+            }
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void capacityMustBeAPowerOfTwo() {
+        assertThatThrownBy(() -> new AuditRing<>(6)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AuditRing<>(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,90 @@
+package space.jayampatel.otelier.cluster;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotelRingTest {
+
+    private static final List<String> NODES = List.of(
+            "http://node-a:8080", "http://node-b:8080", "http://node-c:8080");
+    private static final int HOTELS = 30_000;
+
+    @Test
+    void spreadsHotelsEvenlyAcrossNodes() {
+        HotelRing ring = ring(NODES, "http://node-a:8080");
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < HOTELS; i++) {
+            counts.merge(ring.ownerOf("hotel-" + i), 1, Integer::sum);
+        }
+
+        assertThat(counts).containsOnlyKeys(NODES);
+        for (int count : counts.values()) {
+            assertThat((double) count / HOTELS).isBetween(0.25, 0.42);
+        }
+    }
+
+    @Test
+    void addingANodeOnlyMovesHotelsToIt() {
+        HotelRing before = ring(NODES, "http://node-a:8080");
+        List<String> grown = List.of(
+                "http://node-a:8080", "http://node-b:8080", "http://node-c:8080", "http://node-d:8080");
+        HotelRing after = ring(grown, "http://node-a:8080");
+
+        int moved = 0;
+        for (int i = 0; i < HOTELS; i++) {
+            String hotelId = "hotel-" + i;
+            String owner = after.ownerOf(hotelId);
+            if (!owner.equals(before.ownerOf(hotelId))) {
+                assertThat(owner).isEqualTo("http://node-d:8080");
+                moved++;
+            }
+        }
+
+        assertThat((double) moved / HOTELS).isBetween(0.1, 0.35);
+    }
+
+    @Test
+    void ownerIsTheSameOnEveryNode() {
+        HotelRing onA = ring(NODES, "http://node-a:8080");
+        HotelRing onB = ring(NODES, "http://node-b:8080/");
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(onB.ownerOf("hotel-" + i)).isEqualTo(onA.ownerOf("hotel-" + i));
+        }
+    }
+
+    @Test
+    void everyHotelIsLocalWhenDisabled() {
+        HotelRing ring = new HotelRing();
+        ReflectionTestUtils.setField(ring, "enabled", false);
+        ReflectionTestUtils.setField(ring, "self", "http://node-a:8080");
+        ring.init();
+
+        assertThat(ring.isLocal("hotel-1")).isTrue();
+        assertThat(ring.ownerOf("hotel-1")).isEqualTo("http://node-a:8080");
+    }
+
+    @Test
+    void rejectsASelfOutsideTheNodeList() {
+        assertThatThrownBy(() -> ring(NODES, "http://node-x:8080"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static HotelRing ring(List<String> nodes, String self) {
+        HotelRing ring = new HotelRing();
+        ReflectionTestUtils.setField(ring, "enabled", true);
+        ReflectionTestUtils.setField(ring, "self", self);
+        ReflectionTestUtils.setField(ring, "nodes", nodes);
+        ReflectionTestUtils.setField(ring, "virtualNodes", 128);
+        ring.init();
+        return ring;
+    }
+}
@@ -0,0 +1,115 @@
+package space.jayampatel.otelier.dto;
+
+import space.jayampatel.otelier.model.Booking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time and bytes allocated per listing row: the direct writer against the previous
+ * path (a BookingResponse copy per row through a reflective ObjectWriter). Not a test;
+ * run with:
+ *
+ *   ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=space.jayampatel.otelier.dto.BookingJsonWriterBenchmark
+ *
+ * and read gc.alloc.rate.norm (bytes per row).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingJsonWriterBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final List<Booking> bookings = new ArrayList<>(ROWS);
+    private ObjectMapper objectMapper;
+    private ObjectWriter responseWriter;
+    private BookingJsonWriter writer;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responseWriter = objectMapper.writerFor(BookingResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        writer = new BookingJsonWriter();
+        ReflectionTestUtils.setField(writer, "objectMapper", objectMapper);
+
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 8, 0);
+        for (int i = 0; i < ROWS; i++) {
+            Booking booking = new Booking();
+            booking.setId(String.format("65f0c0ffee00000000%06d", i));
+            booking.setHotelId("hotel-1");
+            booking.setGuestName("Guest " + i);
+            booking.setGuestEmail("guest" + i + "@example.com");
+            booking.setGuestId(String.format("65f0beef0000000000%06d", i % 4000));
+            booking.setRoomNumber(String.valueOf(100 + i % 200));
+            booking.setRoomType("DELUXE");
+            booking.setTotalPrice(45_000L);
+            booking.setCurrency("USD");
+            booking.setCheckInDate(day.plusDays(i % 60));
+            booking.setCheckOutDate(day.plusDays(i % 60 + 3));
+            booking.setStatus("CONFIRMED");
+            booking.setCreatedAt(created.plusSeconds(i * 37L));
+            bookings.add(booking);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int direct() throws IOException {
+        return writer.writeArray(bookings.stream(), OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int viaBookingResponse() throws IOException {
+        try (JsonGenerator generator = objectMapper.createGenerator(OutputStream.nullOutputStream())) {
+            generator.writeStartArray();
+            for (Booking booking : bookings) {
+                responseWriter.writeValue(generator, new BookingResponse(booking));
+            }
+            generator.writeEndArray();
+        }
+        return bookings.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BookingJsonWriterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
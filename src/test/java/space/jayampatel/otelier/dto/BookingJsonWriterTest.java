@@ -0,0 +1,119 @@
+package space.jayampatel.otelier.dto;
+
+import space.jayampatel.otelier.model.Booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hand-written listing writer must stay field-for-field equal to Jackson's
+ * serialization of {@link BookingResponse} (with Spring Boot's ObjectMapper defaults)
+ */
+class BookingJsonWriterTest {
+
+    private ObjectMapper objectMapper;
+    private BookingJsonWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = new BookingJsonWriter();
+        ReflectionTestUtils.setField(writer, "objectMapper", objectMapper);
+    }
+
+    @Test
+    void matchesBookingResponseForAFullBooking() throws IOException {
+        assertMatchesResponse(booking("b1", "101", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 4),
+                LocalDateTime.of(2025, 2, 10, 9, 30, 15, 123_456_789)));
+    }
+
+    @Test
+    void matchesBookingResponseWithNullFields() throws IOException {
+        Booking booking = booking("b2", null, LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2), null);
+        booking.setGuestId(null);
+        booking.setTotalPrice(null);
+        booking.setCurrency(null);
+        booking.setRoomType(null);
+
+        assertMatchesResponse(booking);
+    }
+
+    @Test
+    void matchesBookingResponseForWholeMinuteTimestamps() throws IOException {
+        assertMatchesResponse(booking("b3", "102", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2),
+                LocalDateTime.of(2025, 2, 10, 9, 30)));
+        assertMatchesResponse(booking("b4", "102", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 2),
+                LocalDateTime.of(2025, 2, 10, 9, 30, 0, 500_000_000)));
+    }
+
+    @Test
+    void writesArrayEqualToListOfResponses() throws IOException {
+        // Repeated dates hit the date cache; 1024 days apart share a cache slot
+        LocalDate day = LocalDate.of(2025, 3, 1);
+        List<Booking> bookings = List.of(
+                booking("b1", "101", day, day.plusDays(2), LocalDateTime.of(2025, 1, 1, 8, 0)),
+                booking("b2", "102", day, day.plusDays(2), LocalDateTime.of(2025, 1, 1, 8, 1)),
+                booking("b3", "103", day.plusDays(1024), day.plusDays(1026), LocalDateTime.of(2025, 1, 1, 8, 2)),
+                booking("b4", "104", day, day.plusDays(1), LocalDateTime.of(2025, 1, 1, 8, 3)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int count = writer.writeArray(bookings.stream(), out);
+
+        assertThat(count).isEqualTo(4);
+        assertThat(objectMapper.readTree(out.toByteArray()))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(
+                        bookings.stream().map(BookingResponse::new).toList())));
+    }
+
+    @Test
+    void writesEmptyArray() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThat(writer.writeArray(Stream.empty(), out)).isZero();
+        assertThat(out.toString()).isEqualTo("[]");
+    }
+
+    private void assertMatchesResponse(Booking booking) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeArray(Stream.of(booking), out);
+
+        JsonNode written = objectMapper.readTree(out.toByteArray()).get(0);
+        JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsBytes(new BookingResponse(booking)));
+        assertThat(written).isEqualTo(expected);
+    }
+
+    private static Booking booking(String id, String roomNumber, LocalDate checkIn, LocalDate checkOut,
+                                   LocalDateTime createdAt) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setHotelId("hotel-1");
+        booking.setUserId("user-1");
+        booking.setGuestName("Jane \"JD\" Doe");
+        booking.setGuestEmail("jane@example.com");
+        booking.setGuestId("guest-1");
+        booking.setRoomNumber(roomNumber);
+        booking.setRoomType("DELUXE");
+        booking.setTotalPrice(45_000L);
+        booking.setCurrency("USD");
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setStatus("CONFIRMED");
+        booking.setCreatedAt(createdAt);
+        booking.setCreatedBy("user-1");
+        return booking;
+    }
+}
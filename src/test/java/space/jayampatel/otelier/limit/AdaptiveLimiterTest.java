@@ -0,0 +1,119 @@
+package space.jayampatel.otelier.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimiterTest {
+
+    @Test
+    void rejectsOnceTheLimitIsInUse() {
+        AdaptiveLimiter limiter = limiter(2, 1, 10);
+
+        AdaptiveLimiter.Permit first = limiter.tryAcquire();
+        AdaptiveLimiter.Permit second = limiter.tryAcquire();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+
+        first.ignore();
+        assertThat(limiter.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    void repeatedReleasesAreIgnored() {
+        AdaptiveLimiter limiter = limiter(10, 1, 20);
+
+        AdaptiveLimiter.Permit permit = limiter.tryAcquire();
+        limiter.tryAcquire();
+        permit.release(false);
+        permit.release(true);
+        permit.ignore();
+
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void ignoredPermitsLeaveTheLimitAlone() {
+        AdaptiveLimiter limiter = limiter(10, 1, 20);
+
+        for (int i = 0; i < 50; i++) {
+            List<AdaptiveLimiter.Permit> permits = acquire(limiter, 10);
+            permits.forEach(AdaptiveLimiter.Permit::ignore);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void errorsCutTheLimitDownToTheMinimum() {
+        AdaptiveLimiter limiter = limiter(10, 5, 20);
+
+        limiter.tryAcquire().release(true);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire().release(true);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void fastRequestsGrowABusyLimitUpToTheMaximum() {
+        AdaptiveLimiter limiter = limiter(10, 1, 20);
+
+        for (int i = 0; i < 200; i++) {
+            List<AdaptiveLimiter.Permit> permits = acquire(limiter, limiter.getLimit());
+            permits.forEach(permit -> permit.release(false));
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void idleLimitDoesNotGrow() {
+        AdaptiveLimiter limiter = limiter(10, 1, 20);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire().release(false);
+        }
+
+        assertThat(limiter.getLimit()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void slowRequestShrinksTheLimit() throws InterruptedException {
+        AdaptiveLimiter limiter = limiter(100, 1, 200);
+
+        // Fast sample sets the baseline
+        limiter.tryAcquire().release(false);
+
+        AdaptiveLimiter.Permit slow = limiter.tryAcquire();
+        Thread.sleep(50);
+        slow.release(false);
+
+        assertThat(limiter.getLimit()).isLessThan(100);
+    }
+
+    private static AdaptiveLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveLimiter("test", initial, min, max, 2.0, new SimpleMeterRegistry());
+    }
+
+    private static List<AdaptiveLimiter.Permit> acquire(AdaptiveLimiter limiter, int count) {
+        List<AdaptiveLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            AdaptiveLimiter.Permit permit = limiter.tryAcquire();
+            assertThat(permit).isNotNull();
+            permits.add(permit);
+        }
+        return permits;
+    }
+}
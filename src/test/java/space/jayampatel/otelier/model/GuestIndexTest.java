@@ -0,0 +1,134 @@
+package space.jayampatel.otelier.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GuestIndexTest {
+
+    private static final String HOTEL = "hotel-1";
+
+    @Test
+    void matchesOnlyTermsStartingWithThePrefix() {
+        GuestIndex index = index(
+                guest("g1", "john smith", "john.smith@example.com"),
+                guest("g2", "anna smit", "anna@example.com"),
+                guest("g3", "bob sm", "bob@example.com"),
+                guest("g4", "carl slate", "carl@example.com"),
+                guest("g5", "dora snow", "dora@example.com"));
+
+        assertThat(ids(index, "smi")).containsExactlyInAnyOrder("g1", "g2");
+        assertThat(ids(index, "smith")).containsExactly("g1");
+        assertThat(ids(index, "sm")).containsExactlyInAnyOrder("g1", "g2", "g3");
+        assertThat(ids(index, "smithy")).isEmpty();
+    }
+
+    @Test
+    void wholeTermIsItsOwnPrefix() {
+        GuestIndex index = index(guest("g1", "al", "al@example.com"), guest("g2", "alan", "alan@example.com"));
+
+        assertThat(ids(index, "al")).containsExactlyInAnyOrder("g1", "g2");
+        assertThat(ids(index, "ala")).containsExactly("g2");
+    }
+
+    @Test
+    void matchesEmailPrefixes() {
+        GuestIndex index = index(guest("g1", "john smith", "smith.j@example.com"), guest("g2", "anna lee", "anna@example.com"));
+
+        assertThat(ids(index, "smith.j@")).containsExactly("g1");
+        assertThat(ids(index, "anna@ex")).containsExactly("g2");
+    }
+
+    @Test
+    void prefixIsTrimmedAndCaseInsensitive() {
+        GuestIndex index = index(guest("g1", "John Smith", "john@example.com"));
+
+        assertThat(ids(index, "  SMI ")).containsExactly("g1");
+    }
+
+    @Test
+    void blankPrefixMatchesNothing() {
+        GuestIndex index = index(guest("g1", "john smith", "john@example.com"));
+
+        assertThat(index.search("", 10)).isEmpty();
+        assertThat(index.search("   ", 10)).isEmpty();
+    }
+
+    @Test
+    void guestFiledUnderSeveralMatchingTermsIsReturnedOnce() {
+        GuestIndex index = index(guest("g1", "sam samuels", "sam@example.com"));
+
+        assertThat(ids(index, "sam")).containsExactly("g1");
+    }
+
+    @Test
+    void stopsAtTheLimit() {
+        GuestIndex index = index(
+                guest("g1", "smith a", "a@example.com"),
+                guest("g2", "smith b", "b@example.com"),
+                guest("g3", "smith c", "c@example.com"));
+
+        assertThat(index.search("smith", 2)).hasSize(2);
+    }
+
+    @Test
+    void usesOnlyTheNameGivenToThisHotel() {
+        Guest guest = guest("g1", "john smith", "john@example.com");
+        guest.getNames().put("hotel-2", "johnny secret");
+        GuestIndex index = index(guest);
+
+        assertThat(ids(index, "secret")).isEmpty();
+        assertThat(ids(index, "smith")).containsExactly("g1");
+    }
+
+    @Test
+    void renamedGuestIsNoLongerFoundUnderTheOldName() {
+        Guest guest = guest("g1", "john smith", "john@example.com");
+        GuestIndex index = index(guest, guest("g2", "anna smith", "anna@example.com"));
+        int size = index.size();
+
+        Guest renamed = guest("g1", "john jones", "john@example.com");
+        index.add(renamed);
+
+        assertThat(ids(index, "smith")).containsExactly("g2");
+        assertThat(ids(index, "jones")).containsExactly("g1");
+        assertThat(ids(index, "john")).containsExactly("g1");
+        assertThat(index.search("john", 10).get(0)).isSameAs(renamed);
+        assertThat(index.size()).isEqualTo(size);
+    }
+
+    @Test
+    void addingTheSameGuestAgainChangesNothing() {
+        GuestIndex index = index(guest("g1", "john smith", "john@example.com"));
+        int size = index.size();
+
+        index.add(guest("g1", "john smith", "john@example.com"));
+
+        assertThat(index.size()).isEqualTo(size);
+        assertThat(ids(index, "smith")).containsExactly("g1");
+    }
+
+    private static GuestIndex index(Guest... guests) {
+        GuestIndex index = new GuestIndex(HOTEL);
+        for (Guest guest : guests) {
+            index.add(guest);
+        }
+        return index;
+    }
+
+    private static Guest guest(String id, String name, String email) {
+        Guest guest = new Guest();
+        guest.setId(id);
+        guest.setEmail(email);
+        guest.setNames(new HashMap<>(Map.of(HOTEL, name)));
+        return guest;
+    }
+
+    private static List<String> ids(GuestIndex index, String prefix) {
+        return index.search(prefix, 10).stream().map(Guest::getId).toList();
+    }
+}
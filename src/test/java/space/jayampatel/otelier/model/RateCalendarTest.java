@@ -0,0 +1,85 @@
+package space.jayampatel.otelier.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateCalendarTest {
+
+    private static final LocalDate WINDOW_START = LocalDate.of(2025, 1, 1);
+    private static final int DAYS = 10;
+
+    @Test
+    void pricesNightsInsideTheWindowFromTheCompiledRates() {
+        RateCalendar calendar = calendar(plan(null, 10_000, peak(LocalDate.of(2025, 1, 5), LocalDate.of(2025, 1, 20))));
+
+        assertThat(calendar.nightlyRates("DELUXE", day(2025, 1, 3), day(2025, 1, 7)))
+                .containsExactly(10_000, 10_000, 15_000, 15_000);
+    }
+
+    @Test
+    void fallsBackToThePlanRulesAfterTheWindow() {
+        RateCalendar calendar = calendar(plan(null, 10_000, peak(LocalDate.of(2025, 1, 5), LocalDate.of(2025, 1, 20))));
+
+        // Jan 9-10 are the last compiled nights; the rest are evaluated from the rules
+        assertThat(calendar.nightlyRates("DELUXE", day(2025, 1, 9), day(2025, 1, 13)))
+                .containsExactly(15_000, 15_000, 15_000, 15_000);
+        assertThat(calendar.nightlyRates("DELUXE", day(2025, 1, 19), day(2025, 1, 23)))
+                .containsExactly(15_000, 15_000, 10_000, 10_000);
+    }
+
+    @Test
+    void fallsBackToThePlanRulesBeforeTheWindow() {
+        RateCalendar calendar = calendar(plan(null, 10_000, peak(LocalDate.of(2024, 12, 30), LocalDate.of(2024, 12, 30))));
+
+        assertThat(calendar.nightlyRates("DELUXE", day(2024, 12, 29), day(2025, 1, 2)))
+                .containsExactly(10_000, 15_000, 10_000, 10_000);
+    }
+
+    @Test
+    void roomTypePlanBeatsTheHotelWidePlan() {
+        RateCalendar calendar = calendar(plan(null, 10_000), plan("SUITE", 30_000));
+
+        assertThat(calendar.nightlyRates("SUITE", day(2025, 1, 2), day(2025, 1, 3))).containsExactly(30_000);
+        assertThat(calendar.nightlyRates("DELUXE", day(2025, 1, 2), day(2025, 1, 3))).containsExactly(10_000);
+        assertThat(calendar.nightlyRates(null, day(2025, 1, 2), day(2025, 1, 3))).containsExactly(10_000);
+    }
+
+    @Test
+    void typeWithoutAPlanHasNoRate() {
+        RateCalendar calendar = calendar(plan("SUITE", 30_000));
+
+        assertThat(calendar.hasRate("DELUXE")).isFalse();
+        assertThat(calendar.nightlyRates("DELUXE", day(2025, 1, 2), day(2025, 1, 3))).isNull();
+        assertThat(calendar.currency("DELUXE")).isNull();
+        assertThat(calendar.currency("SUITE")).isEqualTo("USD");
+    }
+
+    private static RateCalendar calendar(RatePlan... plans) {
+        return new RateCalendar(List.of(plans), (int) WINDOW_START.toEpochDay(), DAYS);
+    }
+
+    private static RatePlan plan(String roomType, long baseRate, RateRule... rules) {
+        RatePlan plan = new RatePlan();
+        plan.setRoomType(roomType);
+        plan.setCurrency("USD");
+        plan.setBaseRate(baseRate);
+        plan.setRules(List.of(rules));
+        return plan;
+    }
+
+    private static RateRule peak(LocalDate startDate, LocalDate endDate) {
+        RateRule rule = new RateRule();
+        rule.setStartDate(startDate);
+        rule.setEndDate(endDate);
+        rule.setRate(15_000L);
+        return rule;
+    }
+
+    private static int day(int year, int month, int dayOfMonth) {
+        return (int) LocalDate.of(year, month, dayOfMonth).toEpochDay();
+    }
+}
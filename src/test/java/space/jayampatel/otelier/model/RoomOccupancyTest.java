@@ -0,0 +1,123 @@
+package space.jayampatel.otelier.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoomOccupancyTest {
+
+    private static final int FIRST_DAY = 20_000;
+    private static final int DAYS = 30;
+
+    private RoomOccupancy occupancy;
+    private int deluxe;
+
+    @BeforeEach
+    void setUp() {
+        RoomCatalog catalog = new RoomCatalog("hotel-1", List.of(
+                room("101", "DELUXE"), room("102", "DELUXE"), room("201", "SUITE")));
+        occupancy = new RoomOccupancy(catalog, FIRST_DAY, DAYS);
+        deluxe = catalog.typeIdOf("DELUXE");
+    }
+
+    @Test
+    void allocatesFreeRoomsUntilTheTypeIsSoldOut() {
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), new int[2])).isEqualTo(0);
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), new int[2])).isEqualTo(1);
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), new int[2])).isEqualTo(-1);
+    }
+
+    @Test
+    void releaseReturnsTheRoomAndItsInventory() {
+        occupancy.allocate(deluxe, day(5), day(7), new int[2]);
+        occupancy.allocate(deluxe, day(5), day(7), new int[2]);
+
+        occupancy.release(0, day(5), day(7));
+
+        assertThat(occupancy.isBooked(0, day(5), day(6))).isFalse();
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), new int[2])).isEqualTo(0);
+    }
+
+    @Test
+    void roomsBookedByNumberCountAgainstTypeInventory() {
+        assertThat(occupancy.tryBook(0, day(5), day(7))).isTrue();
+        assertThat(occupancy.tryBook(0, day(5), day(7))).isFalse();
+
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), new int[2])).isEqualTo(1);
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), new int[2])).isEqualTo(-1);
+
+        occupancy.release(0, day(5), day(7));
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), new int[2])).isEqualTo(0);
+    }
+
+    @Test
+    void bookingTheSameStayTwiceCountsItOnce() {
+        occupancy.book(0, day(5), day(7));
+        occupancy.book(0, day(5), day(7));
+
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), new int[2])).isEqualTo(1);
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), new int[2])).isEqualTo(-1);
+    }
+
+    @Test
+    void allowanceReservesInventoryWithoutARoom() {
+        int[] allowance = {1, 1};
+        occupancy.allocate(deluxe, day(5), day(7), allowance);
+        occupancy.allocate(deluxe, day(5), day(7), allowance);
+
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), allowance)).isEqualTo(RoomOccupancy.UNASSIGNED);
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), allowance)).isEqualTo(-1);
+
+        occupancy.unreserve(deluxe, day(5), day(7));
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), allowance)).isEqualTo(RoomOccupancy.UNASSIGNED);
+    }
+
+    @Test
+    void unassignedStaysUseUpTheAllowance() {
+        int[] allowance = {1, 1};
+        occupancy.addUnassigned(deluxe, day(5), day(7));
+
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), allowance)).isEqualTo(0);
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), allowance)).isEqualTo(1);
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), allowance)).isEqualTo(-1);
+    }
+
+    @Test
+    void soldOutNightBacksOutTheEarlierNightsOfTheStay() {
+        occupancy.allocate(deluxe, day(6), day(7), new int[1]);
+        occupancy.allocate(deluxe, day(6), day(7), new int[1]);
+
+        // Night 5 is reserved first, then night 6 is full
+        assertThat(occupancy.allocate(deluxe, day(5), day(7), new int[2])).isEqualTo(-1);
+
+        // Both rooms touch night 5 on the boundary, so only the allowance can hold it:
+        // with night 5 back at zero, physical 2 + allowance 1 leaves room for three
+        int unassigned = 0;
+        while (occupancy.allocate(deluxe, day(5), day(6), new int[]{1}) == RoomOccupancy.UNASSIGNED) {
+            unassigned++;
+        }
+        assertThat(unassigned).isEqualTo(3);
+    }
+
+    @Test
+    void stayTouchingABookedStayOnTheBoundaryDayConflicts() {
+        occupancy.book(0, day(5), day(7));
+
+        assertThat(occupancy.conflicts(0, day(7), day(9))).isTrue();
+        assertThat(occupancy.conflicts(0, day(8), day(9))).isFalse();
+    }
+
+    private static int day(int offset) {
+        return FIRST_DAY + offset;
+    }
+
+    private static Room room(String roomNumber, String roomType) {
+        Room room = new Room();
+        room.setRoomNumber(roomNumber);
+        room.setRoomType(roomType);
+        return room;
+    }
+}
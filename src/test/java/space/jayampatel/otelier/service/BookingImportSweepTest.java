@@ -0,0 +1,82 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.dto.BookingImportReport;
+import space.jayampatel.otelier.dto.CreateBookingRequest;
+import space.jayampatel.otelier.service.BookingImportService.ImportRow;
+import space.jayampatel.otelier.service.BookingImportService.Stay;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingImportSweepTest {
+
+    @Test
+    void rowsTouchingOnTheBoundaryDayConflict() {
+        ImportRow first = row(1);
+        ImportRow touching = row(2);
+        ImportRow later = row(3);
+
+        sweep(new Stay(1, 3, first), new Stay(3, 5, touching), new Stay(6, 8, later));
+
+        assertThat(first.result).isNull();
+        assertThat(touching.result.getStatus()).isEqualTo(BookingImportReport.CONFLICT);
+        assertThat(later.result).isNull();
+    }
+
+    @Test
+    void existingBookingsWinOverEarlierAndLaterRows() {
+        ImportRow before = row(1);
+        ImportRow overlapping = row(2);
+
+        sweep(new Stay(11, 13, overlapping), new Stay(10, 12, null), new Stay(9, 10, before));
+
+        assertThat(before.result.getStatus()).isEqualTo(BookingImportReport.CONFLICT);
+        assertThat(overlapping.result.getStatus()).isEqualTo(BookingImportReport.CONFLICT);
+    }
+
+    @Test
+    void existingBookingSortsAheadOfARowStartingTheSameDay() {
+        ImportRow sameDay = row(1);
+
+        sweep(new Stay(20, 21, sameDay), new Stay(20, 22, null));
+
+        assertThat(sameDay.result.getStatus()).isEqualTo(BookingImportReport.CONFLICT);
+    }
+
+    @Test
+    void rowAfterAGapFromAnExistingBookingIsAccepted() {
+        ImportRow row = row(1);
+
+        sweep(new Stay(4, 6, row), new Stay(1, 3, null));
+
+        assertThat(row.result).isNull();
+    }
+
+    @Test
+    void conflictReportsTheRowLineAndRoom() {
+        ImportRow first = row(7);
+        ImportRow second = row(8);
+
+        sweep(new Stay(1, 4, first), new Stay(2, 3, second));
+
+        assertThat(second.result.getLine()).isEqualTo(8);
+        assertThat(second.result.getMessage()).contains("Room 101");
+    }
+
+    private static void sweep(Stay... stays) {
+        BookingImportService.sweep(new ArrayList<>(List.of(stays)));
+    }
+
+    private static ImportRow row(int line) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setRoomNumber("101");
+
+        ImportRow row = new ImportRow(line);
+        row.request = request;
+        return row;
+    }
+}
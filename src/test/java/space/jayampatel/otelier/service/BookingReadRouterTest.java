@@ -0,0 +1,59 @@
+package space.jayampatel.otelier.service;
+
+import com.mongodb.ReadPreference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BookingReadRouterTest {
+
+    private BookingReadRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new BookingReadRouter();
+        ReflectionTestUtils.setField(router, "listingReadPreferenceName", "secondaryPreferred");
+        ReflectionTestUtils.setField(router, "maxStalenessSeconds", 90L);
+        router.init();
+    }
+
+    @Test
+    void recentWriteFromCookieReadsFromPrimary() {
+        String now = Long.toString(System.currentTimeMillis());
+
+        Long lastWrite = router.lastWrite(null, now);
+
+        assertThat(lastWrite).isEqualTo(Long.parseLong(now));
+        assertThat(router.forListing(lastWrite)).isEqualTo(ReadPreference.primary());
+    }
+
+    @Test
+    void headerWinsOverCookie() {
+        long now = System.currentTimeMillis();
+
+        assertThat(router.lastWrite(Long.toString(now), Long.toString(now - 1_000))).isEqualTo(now);
+        assertThat(router.lastWrite("garbage", Long.toString(now))).isEqualTo(now);
+    }
+
+    @Test
+    void malformedOrFutureValuesAreIgnored() {
+        long future = System.currentTimeMillis() + 3_600_000;
+
+        assertThat(router.lastWrite("abc", null)).isNull();
+        assertThat(router.lastWrite(null, "99999999999999999999")).isNull();
+        assertThat(router.lastWrite(" ", "-5")).isNull();
+        assertThat(router.lastWrite(Long.toString(future), null)).isNull();
+        assertThat(router.forListing(router.lastWrite("abc", null))).isNotEqualTo(ReadPreference.primary());
+    }
+
+    @Test
+    void staleWriteUsesTheListingPreference() {
+        Long lastWrite = router.lastWrite(null, Long.toString(System.currentTimeMillis() - 120_000));
+
+        assertThat(router.isRecentWrite(lastWrite)).isFalse();
+        assertThat(router.forListing(lastWrite)).isNotEqualTo(ReadPreference.primary());
+    }
+}
@@ -0,0 +1,102 @@
+package space.jayampatel.otelier.service;
+
+import space.jayampatel.otelier.cluster.HotelRing;
+import space.jayampatel.otelier.model.OverbookingRule;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RuleBasedOverbookingPolicyTest {
+
+    private static final LocalDate NIGHT = LocalDate.of(2025, 12, 24);
+
+    @Test
+    void roomTypeRuleBeatsHotelWide() {
+        OverbookingRule hotelWide = rule(null, null, null, 20, null);
+        OverbookingRule deluxe = rule("deluxe", null, null, 5, null);
+
+        assertThat(RuleBasedOverbookingPolicy.match(List.of(hotelWide, deluxe), "deluxe", NIGHT, 20))
+                .isSameAs(deluxe);
+        assertThat(RuleBasedOverbookingPolicy.match(List.of(hotelWide, deluxe), "standard", NIGHT, 20))
+                .isSameAs(hotelWide);
+    }
+
+    @Test
+    void datedRuleBeatsUndated() {
+        OverbookingRule undated = rule(null, null, null, 20, null);
+        OverbookingRule christmas = rule(null, NIGHT.minusDays(4), NIGHT.plusDays(7), 5, null);
+
+        assertThat(RuleBasedOverbookingPolicy.match(List.of(undated, christmas), "deluxe", NIGHT, 20))
+                .isSameAs(christmas);
+        assertThat(RuleBasedOverbookingPolicy.match(List.of(undated, christmas), "deluxe", NIGHT.plusDays(8), 20))
+                .isSameAs(undated);
+    }
+
+    @Test
+    void roomTypeOutranksDates() {
+        OverbookingRule datedHotelWide = rule(null, NIGHT, NIGHT, 20, null);
+        OverbookingRule undatedDeluxe = rule("deluxe", null, null, 5, null);
+
+        assertThat(RuleBasedOverbookingPolicy.match(List.of(datedHotelWide, undatedDeluxe), "deluxe", NIGHT, 20))
+                .isSameAs(undatedDeluxe);
+    }
+
+    @Test
+    void tiesTakeTheSmallerAllowance() {
+        OverbookingRule tenPercent = rule("deluxe", null, null, 10, null);
+        OverbookingRule cappedTwenty = rule("deluxe", null, null, 20, 1);
+        OverbookingRule fivePercent = rule("deluxe", null, null, 5, null);
+
+        // 20 rooms: 2, 1 (capped) and 1 extra; the first smallest wins
+        assertThat(RuleBasedOverbookingPolicy.match(
+                List.of(tenPercent, cappedTwenty, fivePercent), "deluxe", NIGHT, 20)).isSameAs(cappedTwenty);
+    }
+
+    @Test
+    void noMatchingRuleMeansNoAllowance() {
+        OverbookingRule other = rule("suite", null, null, 10, null);
+        OverbookingRule expired = rule(null, NIGHT.minusDays(10), NIGHT.minusDays(1), 10, null);
+
+        assertThat(RuleBasedOverbookingPolicy.match(List.of(other, expired), "deluxe", NIGHT, 20)).isNull();
+    }
+
+    @Test
+    void allowanceIsZeroWithoutASingleWriter() {
+        Map<String, List<OverbookingRule>> rules = Map.of("hotel-1", List.of(rule(null, null, null, 10, null)));
+
+        assertThat(policy(rules, false).allowance("hotel-1", "deluxe", 20, NIGHT, NIGHT.plusDays(2)))
+                .containsExactly(0, 0);
+        assertThat(policy(rules, true).allowance("hotel-1", "deluxe", 20, NIGHT, NIGHT.plusDays(2)))
+                .containsExactly(2, 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RuleBasedOverbookingPolicy policy(Map<String, List<OverbookingRule>> rules, boolean singleWriter) {
+        RuleBasedOverbookingPolicy policy = new RuleBasedOverbookingPolicy();
+        ReflectionTestUtils.setField(policy, "hotelRing", new HotelRing());
+        ReflectionTestUtils.setField(policy, "enabled", true);
+        ReflectionTestUtils.setField(policy, "singleWriter", singleWriter);
+        ((AtomicReference<Map<String, List<OverbookingRule>>>)
+                ReflectionTestUtils.getField(policy, "rulesByHotel")).set(rules);
+        return policy;
+    }
+
+    private static OverbookingRule rule(String roomType, LocalDate startDate, LocalDate endDate,
+                                        int percent, Integer maxRooms) {
+        OverbookingRule rule = new OverbookingRule();
+        rule.setHotelId("hotel-1");
+        rule.setRoomType(roomType);
+        rule.setStartDate(startDate);
+        rule.setEndDate(endDate);
+        rule.setPercent(percent);
+        rule.setMaxRooms(maxRooms);
+        return rule;
+    }
+}